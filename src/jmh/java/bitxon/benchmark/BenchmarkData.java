@@ -0,0 +1,96 @@
+package bitxon.benchmark;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.model.structure.tree.Node;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic data sets shared by benchmarks.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    static final String SENIOR = "Senior";
+    static final String MIDDLE = "Middle";
+    static final String JUNIOR = "Junior";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Spreads {@code employeeCount} employees round-robin across {@code departmentCount} departments.
+     * Title mix and salary ranges resemble the StreamBusinessTest fixtures.
+     */
+    static List<Department> departments(int employeeCount, int departmentCount) {
+        var random = new Random(SEED);
+        var employees = new ArrayList<List<Employee>>(departmentCount);
+        for (int d = 0; d < departmentCount; d++) {
+            employees.add(new ArrayList<>(employeeCount / departmentCount + 1));
+        }
+        for (int i = 0; i < employeeCount; i++) {
+            int roll = random.nextInt(10);
+            var employee = roll < 4
+                ? Employee.builder().title(SENIOR).salary(8_000 + random.nextInt(4_000)).build()
+                : roll < 7
+                ? Employee.builder().title(MIDDLE).salary(6_000 + random.nextInt(2_000)).build()
+                : Employee.builder().title(JUNIOR).salary(3_000 + random.nextInt(1_500)).build();
+            employees.get(i % departmentCount).add(employee);
+        }
+
+        var departments = new ArrayList<Department>(departmentCount);
+        for (int d = 0; d < departmentCount; d++) {
+            departments.add(Department.builder().name("Department-" + d).employees(employees.get(d)).build());
+        }
+        return departments;
+    }
+
+    /**
+     * Builds a complete (perfectly balanced as far as {@code size} allows) tree with values {@code 1..size}
+     * in level order, the same numbering as TreeTest.TREE_ROOT.
+     */
+    static Node balancedTree(int size) {
+        var nodes = new Node[size + 1];
+        for (int i = size; i >= 1; i--) {
+            var left = 2 * i <= size ? nodes[2 * i] : null;
+            var right = 2 * i + 1 <= size ? nodes[2 * i + 1] : null;
+            nodes[i] = Node.builder().data(i).left(left).right(right).build();
+        }
+        return size == 0 ? null : nodes[1];
+    }
+
+    /**
+     * Writes about {@code megabytes} MB of words drawn from a vocabulary of {@code vocabulary} words into
+     * a temporary file. Word choice is skewed towards the start of the vocabulary, separators mix spaces and new lines.
+     */
+    static Path textFile(int megabytes, int vocabulary) throws IOException {
+        var random = new Random(SEED);
+        var words = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            var word = new StringBuilder();
+            for (int length = 2 + random.nextInt(8); length > 0; length--) {
+                word.append((char) ((random.nextInt(10) == 0 ? 'A' : 'a') + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        var file = Files.createTempFile("benchmark-words", ".txt");
+        file.toFile().deleteOnExit();
+        long limit = (long) megabytes << 20;
+        try (var writer = Files.newBufferedWriter(file)) {
+            for (long written = 0; written < limit; ) {
+                var word = words[(int) (vocabulary * Math.pow(random.nextDouble(), 3))];
+                writer.write(word);
+                writer.write(random.nextInt(12) == 0 ? '\n' : ' ');
+                written += word.length() + 1;
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,88 @@
+package bitxon.benchmark;
+
+import bitxon.data.DatasetGenerator;
+import bitxon.data.EmployeeFile;
+import bitxon.model.business.Department;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of a data set: regenerating it with {@link DatasetGenerator} versus opening an {@link EmployeeFile}
+ * (with and without checksum verification) and materializing it back into departments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class EmployeeFileBenchmark {
+
+    static final int DEPARTMENTS = 1_000;
+
+    @Param({"1000000", "10000000"})
+    int employees;
+
+    DatasetGenerator generator;
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        generator = DatasetGenerator.builder()
+            .seed(BenchmarkData.SEED)
+            .departmentCount(DEPARTMENTS)
+            .employeeCount(employees)
+            .build();
+        file = Files.createTempFile("benchmark-employees", ".bin");
+        EmployeeFile.write(generator.departments(), file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public List<Department> generate() {
+        return generator.departments();
+    }
+
+    @Benchmark
+    public EmployeeFile open() throws IOException {
+        return EmployeeFile.open(file, false);
+    }
+
+    @Benchmark
+    public EmployeeFile open_VerifyChecksum() throws IOException {
+        return EmployeeFile.open(file);
+    }
+
+    @Benchmark
+    public long open_SumSalaries() throws IOException {
+        return EmployeeFile.open(file, false).salaries().asLongStream().sum();
+    }
+
+    @Benchmark
+    public List<Department> open_Materialize() throws IOException {
+        return EmployeeFile.open(file, false).departments();
+    }
+}
@@ -0,0 +1,61 @@
+package bitxon.benchmark;
+
+import bitxon.model.business.EmployeeTable;
+import bitxon.model.business.SalaryRollup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.IntSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Columnar counterparts of {@link StreamBusinessBenchmark} over the same generated departments. They have no
+ * sequential/parallel switch, so they are measured once per size; compare with both modes of the stream versions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class EmployeeTableBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    int employees;
+
+    EmployeeTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = EmployeeTable.from(BenchmarkData.departments(employees, StreamBusinessBenchmark.DEPARTMENT_COUNT));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByTitle() {
+        return table.averageSalaryByTitle();
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> statisticSalaryByTitle() {
+        return table.statisticSalaryByTitle();
+    }
+
+    /** Always parallel over departments, see {@link SalaryRollup#of(EmployeeTable)}. */
+    @Benchmark
+    public SalaryRollup salaryRollup() {
+        return SalaryRollup.of(table);
+    }
+}
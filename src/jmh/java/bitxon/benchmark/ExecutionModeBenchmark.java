@@ -0,0 +1,88 @@
+package bitxon.benchmark;
+
+import bitxon.concurrent.ExecutionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of N concurrent blocking tasks (MultiThreadTest style {@code supplyAsync} + sleep) per {@link ExecutionMode}.
+ * <p>
+ * Score is the time until all tasks completed, so throughput is {@code tasks / score}. Per-task latency
+ * (submit to completion, includes queueing) is reported as p50 / p99 / max secondary metrics, see
+ * {@link LatencyCounters}. The fork-join mode with 100k tasks runs for minutes on a small machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ExecutionModeBenchmark {
+
+    @Param({"10000", "100000"})
+    int tasks;
+
+    @Param({"10"})
+    int blockMillis;
+
+    @Param({"FORK_JOIN", "PLATFORM_POOL", "VIRTUAL_THREADS"})
+    ExecutionMode mode;
+
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = mode.newExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public long fanOut(LatencyCounters latency) {
+        var futures = new CompletableFuture<?>[tasks];
+        var latencies = new long[tasks];
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            futures[i] = CompletableFuture.runAsync(() -> {
+                block(blockMillis);
+                latencies[index] = System.nanoTime() - submitted;
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        long total = 0;
+        for (long nanos : latencies) {
+            latency.record(nanos);
+            total += nanos;
+        }
+        latency.publish();
+        return total;
+    }
+
+    private static void block(int millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package bitxon.benchmark;
+
+import bitxon.math.Factorial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Big factorials: naive sequential multiplication vs parallel stream reduction vs {@link Factorial} product tree.
+ * Naive 1 000 000! takes minutes, so every measurement is a single shot.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactorialBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int n;
+
+    @Benchmark
+    public BigInteger naive() {
+        return Factorial.naive(n);
+    }
+
+    @Benchmark
+    public BigInteger parallelStreamReduce() {
+        return LongStream.rangeClosed(1, n)
+            .parallel()
+            .mapToObj(BigInteger::valueOf)
+            .reduce(BigInteger.ONE, BigInteger::multiply);
+    }
+
+    @Benchmark
+    public BigInteger productTree() {
+        return Factorial.compute(n);
+    }
+
+    @Benchmark
+    public BigInteger binomialHalf() {
+        return Factorial.binomial(n, n / 2);
+    }
+}
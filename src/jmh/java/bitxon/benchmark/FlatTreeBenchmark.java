@@ -0,0 +1,99 @@
+package bitxon.benchmark;
+
+import bitxon.model.structure.tree.FlatTree;
+import bitxon.model.structure.tree.Node;
+import bitxon.model.structure.tree.NodeTraversal;
+import bitxon.model.structure.tree.NodeTraversal.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Pointer {@link Node} tree versus {@link FlatTree} (Eytzinger layout) with the same shape and values:
+ * full traversals and random lookups in a complete binary search tree.
+ * 100M nodes need roughly 3 GB for the pointer form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class FlatTreeBenchmark {
+
+    static final int LOOKUPS = 1_000_000;
+
+    @Param({"1000000", "10000000", "100000000"})
+    int nodes;
+
+    FlatTree flat;
+    Node root;
+    int[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        flat = FlatTree.fromSorted(IntStream.range(0, nodes).map(i -> 2 * i).toArray());
+        root = flat.toNode();
+        keys = new Random(BenchmarkData.SEED).ints(LOOKUPS, 0, 2 * nodes).toArray();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public long levelOrder_Node() {
+        return NodeTraversal.levelOrder(root).sum();
+    }
+
+    @Benchmark
+    public long levelOrder_FlatTree() {
+        return flat.stream(Order.LEVEL_ORDER).sum();
+    }
+
+    @Benchmark
+    public long inorder_Node() {
+        return NodeTraversal.inorder(root).sum();
+    }
+
+    @Benchmark
+    public long inorder_FlatTree() {
+        return flat.stream(Order.IN_ORDER).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int search_Node() {
+        int found = 0;
+        for (int key : keys) {
+            var node = root;
+            while (node != null && node.data() != key) {
+                node = key < node.data() ? node.left() : node.right();
+            }
+            found += node == null ? 0 : 1;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int search_FlatTree() {
+        int found = 0;
+        for (int key : keys) {
+            found += flat.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,139 @@
+package bitxon.benchmark;
+
+import bitxon.concurrent.ExecutionMode;
+import bitxon.concurrent.HedgingExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Simulated service calls (MultiThreadTest {@code sleepAndGet} style) with a long-tailed latency distribution:
+ * mostly {@code 5..15 ms}, {@code slowPercent} of the calls {@code 200..400 ms}. Requests arrive every
+ * {@value #ARRIVAL_MICROS} microseconds on virtual threads.
+ * <p>
+ * Score is the time to serve all requests; request latency p50 / p99 / max ({@link LatencyCounters}) and hedge counts
+ * ({@link HedgeCounters}) are secondary metrics. Compare p99 of {@code NONE} with the hedged strategies, and the
+ * hedge counts with the budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HedgingBenchmark {
+
+    static final int REQUESTS = 5_000;
+    static final int ARRIVAL_MICROS = 200;
+    static final double BUDGET = 0.1;
+
+    public enum Strategy {
+        NONE, FIXED_50MS, P95
+    }
+
+    @Param({"1", "5"})
+    int slowPercent;
+
+    @Param({"NONE", "FIXED_50MS", "P95"})
+    Strategy strategy;
+
+    ExecutorService executor;
+    HedgingExecutor hedging;
+
+    /** Hedges sent, won and refused by the budget during the iteration, zero for {@code NONE}. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HedgeCounters {
+
+        public long hedged;
+        public long hedgeWins;
+        public long budgetExhausted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hedged = 0;
+            hedgeWins = 0;
+            budgetExhausted = 0;
+        }
+
+        void publish(HedgingExecutor.Statistics before, HedgingExecutor.Statistics after) {
+            hedged = after.hedged() - before.hedged();
+            hedgeWins = after.hedgeWins() - before.hedgeWins();
+            budgetExhausted = after.budgetExhausted() - before.budgetExhausted();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = ExecutionMode.VIRTUAL_THREADS.newExecutor();
+        hedging = switch (strategy) {
+            case NONE -> null;
+            case FIXED_50MS -> HedgingExecutor.fixedDelay(executor, Duration.ofMillis(50), BUDGET);
+            case P95 -> HedgingExecutor.percentile(executor, 95, Duration.ofMillis(50), BUDGET);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public long serve(LatencyCounters latency, HedgeCounters hedges) throws InterruptedException {
+        var before = hedging == null ? null : hedging.statistics();
+        Function<Integer, CompletableFuture<Integer>> submit = hedging == null
+            ? value -> CompletableFuture.supplyAsync(() -> sleepAndGet(value), executor)
+            : value -> hedging.submit(() -> sleepAndGet(value));
+        var random = new SplittableRandom(BenchmarkData.SEED);
+        var latencies = new long[REQUESTS];
+        var futures = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            long start = System.nanoTime();
+            futures[i] = submit.apply(i).thenRun(() -> latencies[index] = System.nanoTime() - start);
+            TimeUnit.MICROSECONDS.sleep(random.nextInt(2 * ARRIVAL_MICROS));
+        }
+        CompletableFuture.allOf(futures).join();
+
+        long total = 0;
+        for (long nanos : latencies) {
+            latency.record(nanos);
+            total += nanos;
+        }
+        latency.publish();
+        if (hedging != null) {
+            hedges.publish(before, hedging.statistics());
+        }
+        return total;
+    }
+
+    private int sleepAndGet(int value) {
+        var random = ThreadLocalRandom.current();
+        int millis = random.nextInt(100) < slowPercent ? random.nextInt(200, 400) : random.nextInt(5, 15);
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
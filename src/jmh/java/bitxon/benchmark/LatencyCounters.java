@@ -0,0 +1,45 @@
+package bitxon.benchmark;
+
+import bitxon.stream.QuantileSketch;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-request latency of a benchmark invocation that serves many requests ({@code SingleShotTime} fan-outs).
+ * <p>
+ * Public fields are JMH secondary metrics: p50 / p99 / max are reported next to the score and written to the
+ * JSON report of the {@code jmh} task, so tails can be compared across runs. Latencies go into a
+ * {@link QuantileSketch} (microseconds) that is reset before every iteration.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class LatencyCounters {
+
+    public double latencyP50Millis;
+    public double latencyP99Millis;
+    public double latencyMaxMillis;
+
+    QuantileSketch latencyMicros;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        latencyMicros = new QuantileSketch();
+        latencyP50Millis = 0;
+        latencyP99Millis = 0;
+        latencyMaxMillis = 0;
+    }
+
+    void record(long latencyNanos) {
+        latencyMicros.accept((int) Math.min(Integer.MAX_VALUE, latencyNanos / 1_000));
+    }
+
+    /** Publishes percentiles of everything recorded since the iteration started. */
+    void publish() {
+        latencyP50Millis = latencyMicros.getPercentile(50) / 1000;
+        latencyP99Millis = latencyMicros.getPercentile(99) / 1000;
+        latencyMaxMillis = latencyMicros.getMax() / 1000d;
+    }
+}
@@ -0,0 +1,244 @@
+package bitxon.benchmark;
+
+import bitxon.collection.ObjectIntMap;
+import bitxon.collection.PrimitiveCollectors;
+import bitxon.metrics.CollectorMetrics;
+import bitxon.model.Pair;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.model.business.SalaryRollup;
+import bitxon.stream.TopK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Aggregations from StreamBusinessTest over generated departments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class StreamBusinessBenchmark {
+
+    static final int DEPARTMENT_COUNT = 100;
+
+    @Param({"1000", "100000", "10000000"})
+    int employees;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    List<Department> departments;
+    CollectorMetrics metrics = new CollectorMetrics("averageSalaryByTitle");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        departments = BenchmarkData.departments(employees, DEPARTMENT_COUNT);
+    }
+
+    Stream<Department> departments() {
+        return parallel ? departments.parallelStream() : departments.stream();
+    }
+
+    Stream<Employee> employees() {
+        return departments()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByTitle_averagingInt() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collectors.averagingInt(Employee::getSalary)));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByTitle_averagingInt_Instrumented() {
+        return employees()
+            .collect(metrics.instrument(Collectors.groupingBy(
+                Employee::getTitle,
+                Collectors.averagingInt(Employee::getSalary))));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByTitle_CustomCollector() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collector.of(
+                    () -> new long[2],
+                    (result, employee) -> {
+                        result[0] += employee.getSalary();
+                        result[1]++;
+                    },
+                    (result1, result2) -> new long[]{result1[0] + result2[0], result1[1] + result2[1]},
+                    total -> total[1] == 0 ? 0d : (double) total[0] / total[1]
+                )));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByTitle_PrimitiveMaps() {
+        return employees()
+            .collect(Collectors.teeing(
+                PrimitiveCollectors.sumIntBy(Employee::getTitle, Employee::getSalary),
+                PrimitiveCollectors.countingInto(Employee::getTitle),
+                (sums, counts) -> {
+                    var averages = new HashMap<String, Double>();
+                    sums.forEach((title, sum) -> averages.put(title, (double) sum / counts.get(title)));
+                    return averages;
+                }));
+    }
+
+    @Benchmark
+    public Map<String, Integer> minSalaryByTitle() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collectors.reducing(Integer.MAX_VALUE, Employee::getSalary, Integer::min)));
+    }
+
+    @Benchmark
+    public Map<String, Integer> minSalaryByTitle_CustomCollector() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collector.of(
+                    () -> new int[]{Integer.MAX_VALUE},
+                    (result, employee) -> result[0] = Math.min(result[0], employee.getSalary()),
+                    (result1, result2) -> new int[]{Math.min(result1[0], result2[0])},
+                    total -> total[0]
+                )));
+    }
+
+    @Benchmark
+    public ObjectIntMap<String> minSalaryByTitle_MinIntBy() {
+        return employees()
+            .collect(PrimitiveCollectors.minIntBy(Employee::getTitle, Employee::getSalary));
+    }
+
+    @Benchmark
+    public Map<String, Pair<Integer, Integer>> minAndMaxSalaryByTitle_CustomCollector() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collector.of(
+                    () -> new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE},
+                    (result, employee) -> {
+                        result[0] = Math.min(result[0], employee.getSalary());
+                        result[1] = Math.max(result[1], employee.getSalary());
+                    },
+                    (result1, result2) -> new int[]{
+                        Math.min(result1[0], result2[0]),
+                        Math.max(result1[1], result2[1])
+                    },
+                    total -> new Pair<>(total[0], total[1])
+                )));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageSalaryByDepartment() {
+        return departments()
+            .collect(Collectors.groupingBy(
+                Department::getName,
+                Collectors.averagingDouble(e -> e.getEmployees().stream()
+                    .collect(Collectors.averagingDouble(Employee::getSalary))
+                )
+            ));
+    }
+
+    @Benchmark
+    public List<Object> salaryRollup_groupingBy() {
+        var byDepartmentAndTitle = departments()
+            .collect(Collectors.groupingBy(
+                Department::getName,
+                Collectors.flatMapping(d -> d.getEmployees().stream(),
+                    Collectors.groupingBy(Employee::getTitle, Collectors.summarizingInt(Employee::getSalary)))
+            ));
+        var byDepartment = departments()
+            .collect(Collectors.groupingBy(
+                Department::getName,
+                Collectors.flatMapping(d -> d.getEmployees().stream(), Collectors.summarizingInt(Employee::getSalary))
+            ));
+        var byTitle = employees()
+            .collect(Collectors.groupingBy(Employee::getTitle, Collectors.summarizingInt(Employee::getSalary)));
+        var total = employees()
+            .collect(Collectors.summarizingInt(Employee::getSalary));
+        return List.of(byDepartmentAndTitle, byDepartment, byTitle, total);
+    }
+
+    @Benchmark
+    public SalaryRollup salaryRollup_Rollup() {
+        return departments().collect(SalaryRollup.rollup());
+    }
+
+    @Benchmark
+    public Map<String, IntSummaryStatistics> statisticSalaryByTitle() {
+        return employees()
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collectors.summarizingInt(Employee::getSalary)));
+    }
+
+    @Benchmark
+    public int sumSalaries_reduce() {
+        return employees()
+            .map(Employee::getSalary)
+            .reduce(Integer::sum)
+            .orElseThrow();
+    }
+
+    @Benchmark
+    public int sumSalaries_IntStream() {
+        return employees()
+            .mapToInt(Employee::getSalary)
+            .sum();
+    }
+
+    @Benchmark
+    public int sumSalaries_summingInt() {
+        return employees()
+            .map(Employee::getSalary)
+            .collect(Collectors.summingInt(Integer::intValue));
+    }
+
+    @Benchmark
+    public List<Employee> findTwoWithHighestSalary() {
+        return employees()
+            .sorted(Comparator.comparing(Employee::getSalary).reversed())
+            .limit(2)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> findTwoWithHighestSalary_TopK() {
+        return employees()
+            .collect(TopK.top(2, Comparator.comparing(Employee::getSalary)));
+    }
+}
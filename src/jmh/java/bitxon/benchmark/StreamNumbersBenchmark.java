@@ -0,0 +1,115 @@
+package bitxon.benchmark;
+
+import bitxon.math.Fibonacci;
+import bitxon.math.PrimeSieve;
+import bitxon.model.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Number generators from StreamNumbersTest. Each generator has its own state so parameters are not cross-multiplied.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamNumbersBenchmark {
+
+    static final Predicate<Integer> PRIME_NUMBER = number -> {
+        if (number == null || number < 2) {
+            return false;
+        }
+        return IntStream.range(2, number).boxed().noneMatch(i -> number % i == 0);
+    };
+
+    @State(Scope.Benchmark)
+    public static class PrimesState {
+        @Param({"100", "10000"})
+        int upTo;
+
+        @Param({"false", "true"})
+        boolean parallel;
+    }
+
+    @State(Scope.Benchmark)
+    public static class FibonacciState {
+        @Param({"10", "46"})
+        int terms;
+    }
+
+    @State(Scope.Benchmark)
+    public static class FactorialState {
+        @Param({"5", "12"})
+        int n;
+
+        @Param({"false", "true"})
+        boolean parallel;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public List<Integer> primeNumbers(PrimesState state) {
+        var numbers = IntStream.rangeClosed(1, state.upTo).boxed();
+        return (state.parallel ? numbers.parallel() : numbers)
+            .filter(PRIME_NUMBER)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int[] primeNumbers_PrimeSieve(PrimesState state) {
+        return PrimeSieve.of(state.upTo).primes().toArray();
+    }
+
+    @Benchmark
+    public List<Integer> fibonacciSequenceRecursive(FibonacciState state) {
+        return fibonacciSequenceRecursive(state.terms, 0, 1).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> fibonacciSequenceIterative(FibonacciState state) {
+        return Stream.iterate(new Pair<>(0, 1), prev -> new Pair<>(prev.getValue2(), prev.getValue1() + prev.getValue2()))
+            .limit(state.terms + 1)
+            .map(Pair::getValue1)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long[] fibonacciSequence_Fibonacci(FibonacciState state) {
+        return Fibonacci.longSequence(state.terms).toArray();
+    }
+
+    @Benchmark
+    public int factorial(FactorialState state) {
+        var numbers = IntStream.rangeClosed(1, state.n);
+        return (state.parallel ? numbers.parallel() : numbers)
+            .reduce((i, j) -> i * j)
+            .getAsInt();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    static Stream<Integer> fibonacciSequenceRecursive(int num, int a, int b) {
+        if (num == 0) {
+            return Stream.of(a);
+        } else {
+            return Stream.concat(Stream.of(a), fibonacciSequenceRecursive(num - 1, b, a + b));
+        }
+    }
+}
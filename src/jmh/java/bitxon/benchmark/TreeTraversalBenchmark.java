@@ -0,0 +1,144 @@
+package bitxon.benchmark;
+
+import bitxon.model.structure.tree.Node;
+import bitxon.model.structure.tree.NodeTraversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recursive and queue based traversals from TreeTest versus lazy {@link NodeTraversal} over a complete tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeTraversalBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int nodes;
+
+    Node root;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        root = BenchmarkData.balancedTree(nodes);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public List<Integer> preorderTravers() {
+        var result = new ArrayList<Integer>();
+        preorderTravers(root, result);
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> inorderTravers() {
+        var result = new ArrayList<Integer>();
+        inorderTravers(root, result);
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> postorderTravers() {
+        var result = new ArrayList<Integer>();
+        postorderTravers(root, result);
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> levelTravers() {
+        var result = new ArrayList<Integer>();
+        levelTravers(root, result);
+        return result;
+    }
+
+    @Benchmark
+    public long preorder_NodeTraversal() {
+        return NodeTraversal.preorder(root).sum();
+    }
+
+    @Benchmark
+    public long inorder_NodeTraversal() {
+        return NodeTraversal.inorder(root).sum();
+    }
+
+    @Benchmark
+    public long postorder_NodeTraversal() {
+        return NodeTraversal.postorder(root).sum();
+    }
+
+    @Benchmark
+    public long levelOrder_NodeTraversal() {
+        return NodeTraversal.levelOrder(root).sum();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    static void preorderTravers(Node node, List<Integer> result) {
+        if (node == null) {
+            return;
+        }
+        result.add(node.data());
+        preorderTravers(node.left(), result);
+        preorderTravers(node.right(), result);
+    }
+
+    static void inorderTravers(Node node, List<Integer> result) {
+        if (node == null) {
+            return;
+        }
+        inorderTravers(node.left(), result);
+        result.add(node.data());
+        inorderTravers(node.right(), result);
+    }
+
+    static void postorderTravers(Node node, List<Integer> result) {
+        if (node == null) {
+            return;
+        }
+        postorderTravers(node.left(), result);
+        postorderTravers(node.right(), result);
+        result.add(node.data());
+    }
+
+    static void levelTravers(Node root, List<Integer> result) {
+        if (root == null) {
+            return;
+        }
+        Queue<Node> queue = new LinkedList<>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+
+            result.add(node.data());
+
+            if (node.left() != null) {
+                queue.add(node.left());
+            }
+            if (node.right() != null) {
+                queue.add(node.right());
+            }
+        }
+    }
+}
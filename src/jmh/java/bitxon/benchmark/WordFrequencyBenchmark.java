@@ -0,0 +1,94 @@
+package bitxon.benchmark;
+
+import bitxon.collection.PrimitiveCollectors;
+import bitxon.model.ObjectLongPair;
+import bitxon.text.WordFrequency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Most frequent word of a text file: StreamStringTest approach ({@code split}, {@code toLowerCase},
+ * {@code groupingBy}) versus {@link WordFrequency} with one and with all processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class WordFrequencyBenchmark {
+
+    static final int VOCABULARY = 50_000;
+
+    @Param({"10", "100", "1000"})
+    int megabytes;
+
+    Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkData.textFile(megabytes, VOCABULARY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public Optional<String> mostFrequentWord_GroupingBy() throws IOException {
+        return Arrays.stream(Files.readString(file).split("\\s"))
+            .filter(Predicate.not(String::isBlank))
+            .map(String::toLowerCase)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+            .entrySet()
+            .stream()
+            .max(Comparator.comparing(Map.Entry::getValue))
+            .map(Map.Entry::getKey);
+    }
+
+    @Benchmark
+    public Optional<String> mostFrequentWord_CountingInto() throws IOException {
+        return Arrays.stream(Files.readString(file).split("\\s"))
+            .filter(Predicate.not(String::isBlank))
+            .map(String::toLowerCase)
+            .collect(PrimitiveCollectors.countingInto(Function.identity()))
+            .maxEntry()
+            .map(ObjectLongPair::getValue1);
+    }
+
+    @Benchmark
+    public WordFrequency.WordCount mostFrequentWord_WordFrequency_SingleThread() throws IOException {
+        return WordFrequency.of(file, 1).top(1).get(0);
+    }
+
+    @Benchmark
+    public WordFrequency.WordCount mostFrequentWord_WordFrequency() throws IOException {
+        return WordFrequency.of(file).top(1).get(0);
+    }
+}
@@ -0,0 +1,38 @@
+package bitxon.collection;
+
+/**
+ * Table sizing and hash spreading shared by the open-addressing maps.
+ */
+final class Hashing {
+
+    static final int MAX_CAPACITY = 1 << 30;
+    static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private Hashing() {
+    }
+
+    /** Fibonacci hashing, high bits of the product mixed down so that {@code & mask} sees all of them. */
+    static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Power of two capacity keeping {@code expectedSize} entries at load factor 0.5. */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        if (expectedSize > MAX_CAPACITY / 2) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        return Math.max(4, Integer.highestOneBit(Math.max(1, 2 * expectedSize - 1)) << 1);
+    }
+
+    /** Capacity after growing, fails instead of silently overloading the table. */
+    static int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map is full, max capacity is " + MAX_CAPACITY);
+        }
+        return capacity << 1;
+    }
+}
@@ -0,0 +1,183 @@
+package bitxon.collection;
+
+import bitxon.model.IntIntPair;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Map from primitive {@code int} keys to {@code int} values, no boxing and no per-entry objects.
+ * <p>
+ * Open addressing with linear probing over parallel {@code keys} / {@code values} arrays, load factor 0.5.
+ * Key {@code 0} marks an empty slot, so the entry for key {@code 0} itself is kept in separate fields.
+ * Insert-only: entries can be updated but not removed. Not thread-safe.
+ */
+public final class IntIntMap {
+
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int size; // without the zero key
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public IntIntMap(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int size() {
+        return hasZeroKey ? size + 1 : size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key == FREE ? hasZeroKey : keys[slot(key)] != FREE;
+    }
+
+    /** Value of the key, {@code 0} if absent. */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] == FREE ? defaultValue : values[slot];
+    }
+
+    public void put(int key, int value) {
+        if (key == FREE) {
+            hasZeroKey = true;
+            zeroValue = value;
+        } else {
+            int slot = insert(key);
+            values[slot] = value;
+        }
+    }
+
+    /** Adds {@code delta} to the value of the key (absent keys start at {@code 0}) and returns the new value. */
+    public int addTo(int key, int delta) {
+        if (key == FREE) {
+            hasZeroKey = true;
+            return zeroValue += delta;
+        }
+        int slot = insert(key);
+        return values[slot] += delta;
+    }
+
+    /**
+     * Puts {@code value} if the key is absent, otherwise replaces the current value with
+     * {@code remapping(current, value)}, like {@link Map#merge}. Returns the new value.
+     */
+    public int merge(int key, int value, IntBinaryOperator remapping) {
+        if (!containsKey(key)) {
+            put(key, value);
+            return value;
+        }
+        int merged = remapping.applyAsInt(get(key), value);
+        put(key, merged);
+        return merged;
+    }
+
+    /** Merges every entry of {@code other} into this map, see {@link #merge}. */
+    public void mergeAll(IntIntMap other, IntBinaryOperator remapping) {
+        other.forEach((key, value) -> merge(key, value, remapping));
+    }
+
+    public void forEach(IntIntConsumer action) {
+        if (hasZeroKey) {
+            action.accept(FREE, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** Entry with the greatest value, ties are broken arbitrarily. */
+    public Optional<IntIntPair> maxEntry() {
+        boolean found = hasZeroKey;
+        int bestKey = FREE;
+        int bestValue = zeroValue;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE && (!found || values[slot] > bestValue)) {
+                found = true;
+                bestKey = keys[slot];
+                bestValue = values[slot];
+            }
+        }
+        return found ? Optional.of(new IntIntPair(bestKey, bestValue)) : Optional.empty();
+    }
+
+    /** Boxed copy. */
+    public Map<Integer, Integer> toMap() {
+        var map = new HashMap<Integer, Integer>(size() * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Slot holding the (non-zero) key or the empty slot where it would be inserted. */
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int insert(int key) {
+        int slot = slot(key);
+        if (keys[slot] != FREE) {
+            return slot;
+        }
+        keys[slot] = key;
+        if (2 * ++size > keys.length) { // load factor 0.5
+            grow();
+            return slot(key);
+        }
+        return slot;
+    }
+
+    private void grow() {
+        var oldKeys = keys;
+        var oldValues = values;
+        int capacity = Hashing.grow(oldKeys.length);
+        keys = new int[capacity];
+        values = new int[capacity];
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] != FREE) {
+                int slot = slot(oldKeys[old]);
+                keys[slot] = oldKeys[old];
+                values[slot] = oldValues[old];
+            }
+        }
+    }
+}
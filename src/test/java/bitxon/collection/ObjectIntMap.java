@@ -0,0 +1,164 @@
+package bitxon.collection;
+
+import bitxon.model.ObjectIntPair;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Map from object keys to primitive {@code int} values, no boxing and no per-entry objects.
+ * <p>
+ * Open addressing with linear probing over parallel {@code keys} / {@code values} arrays, load factor 0.5.
+ * Insert-only: entries can be updated but not removed. Null keys are rejected. Not thread-safe.
+ */
+public final class ObjectIntMap<K> {
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    public ObjectIntMap() {
+        this(Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    public ObjectIntMap(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return keys[slot(key)] != null;
+    }
+
+    /** Value of the key, {@code 0} if absent. */
+    public int get(Object key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(Object key, int defaultValue) {
+        int slot = slot(key);
+        return keys[slot] == null ? defaultValue : values[slot];
+    }
+
+    public void put(K key, int value) {
+        int slot = insert(key);
+        values[slot] = value;
+    }
+
+    /** Adds {@code delta} to the value of the key (absent keys start at {@code 0}) and returns the new value. */
+    public int addTo(K key, int delta) {
+        int slot = insert(key);
+        return values[slot] += delta;
+    }
+
+    /**
+     * Puts {@code value} if the key is absent, otherwise replaces the current value with
+     * {@code remapping(current, value)}, like {@link Map#merge}. Returns the new value.
+     */
+    public int merge(K key, int value, IntBinaryOperator remapping) {
+        int slot = slot(key);
+        if (keys[slot] != null) {
+            return values[slot] = remapping.applyAsInt(values[slot], value);
+        }
+        slot = insert(key);
+        values[slot] = value;
+        return value;
+    }
+
+    /** Merges every entry of {@code other} into this map, see {@link #merge}. */
+    @SuppressWarnings("unchecked")
+    public void mergeAll(ObjectIntMap<? extends K> other, IntBinaryOperator remapping) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != null) {
+                merge((K) other.keys[slot], other.values[slot], remapping);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                action.accept((K) keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** Entry with the greatest value, ties are broken arbitrarily. */
+    @SuppressWarnings("unchecked")
+    public Optional<ObjectIntPair<K>> maxEntry() {
+        int best = -1;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && (best < 0 || values[slot] > values[best])) {
+                best = slot;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(new ObjectIntPair<>((K) keys[best], values[best]));
+    }
+
+    /** Boxed copy. */
+    public Map<K, Integer> toMap() {
+        var map = new HashMap<K, Integer>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Slot holding the key or the empty slot where it would be inserted. */
+    private int slot(Object key) {
+        Objects.requireNonNull(key, "key");
+        int mask = keys.length - 1;
+        int slot = Hashing.mix(key.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int insert(K key) {
+        int slot = slot(key);
+        if (keys[slot] != null) {
+            return slot;
+        }
+        keys[slot] = key;
+        if (2 * ++size > keys.length) { // load factor 0.5
+            grow();
+            return slot(key);
+        }
+        return slot;
+    }
+
+    private void grow() {
+        var oldKeys = keys;
+        var oldValues = values;
+        int capacity = Hashing.grow(oldKeys.length);
+        keys = new Object[capacity];
+        values = new int[capacity];
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] != null) {
+                int slot = slot(oldKeys[old]);
+                keys[slot] = oldKeys[old];
+                values[slot] = oldValues[old];
+            }
+        }
+    }
+}
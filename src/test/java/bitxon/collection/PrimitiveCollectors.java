@@ -0,0 +1,101 @@
+package bitxon.collection;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Grouping collectors into primitive maps: the per-group state is a slot in an open-addressing table,
+ * so accumulating an element allocates nothing once its key is present (unlike {@code groupingBy} with
+ * {@code counting()} or {@code reducing(...)}, which box a value per element).
+ * <p>
+ * Parallel streams merge the smaller partial map into the larger one.
+ */
+public final class PrimitiveCollectors {
+
+    private PrimitiveCollectors() {
+    }
+
+    /**
+     * Number of elements per key, primitive counterpart of {@code groupingBy(classifier, counting())}.
+     */
+    public static <T, K> Collector<T, ?, ObjectLongMap<K>> countingInto(Function<? super T, ? extends K> classifier) {
+        Objects.requireNonNull(classifier, "classifier");
+        return Collector.of(
+            ObjectLongMap<K>::new,
+            (map, element) -> map.addTo(classifier.apply(element), 1), // regular stream
+            (left, right) -> merge(left, right, Long::sum), // parallel stream
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Number of elements per {@code int} key, e.g. a salary histogram.
+     */
+    public static <T> Collector<T, ?, IntIntMap> countingIntsInto(ToIntFunction<? super T> classifier) {
+        Objects.requireNonNull(classifier, "classifier");
+        return Collector.of(
+            IntIntMap::new,
+            (map, element) -> map.addTo(classifier.applyAsInt(element), 1), // regular stream
+            (left, right) -> merge(left, right, Integer::sum), // parallel stream
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Sum of {@code int} values per key, primitive counterpart of {@code groupingBy(classifier, summingInt(value))}.
+     * Sums are {@code long}, so they do not overflow.
+     */
+    public static <T, K> Collector<T, ?, ObjectLongMap<K>> sumIntBy(Function<? super T, ? extends K> classifier,
+                                                                    ToIntFunction<? super T> value) {
+        Objects.requireNonNull(classifier, "classifier");
+        Objects.requireNonNull(value, "value");
+        return Collector.of(
+            ObjectLongMap<K>::new,
+            (map, element) -> map.addTo(classifier.apply(element), value.applyAsInt(element)), // regular stream
+            (left, right) -> merge(left, right, Long::sum), // parallel stream
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Minimum of {@code int} values per key, primitive counterpart of
+     * {@code groupingBy(classifier, reducing(Integer.MAX_VALUE, value, Integer::min))}.
+     */
+    public static <T, K> Collector<T, ?, ObjectIntMap<K>> minIntBy(Function<? super T, ? extends K> classifier,
+                                                                   ToIntFunction<? super T> value) {
+        Objects.requireNonNull(classifier, "classifier");
+        Objects.requireNonNull(value, "value");
+        return Collector.of(
+            ObjectIntMap<K>::new,
+            (map, element) -> map.merge(classifier.apply(element), value.applyAsInt(element), Math::min), // regular stream
+            (left, right) -> merge(left, right, Math::min), // parallel stream
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static <K> ObjectLongMap<K> merge(ObjectLongMap<K> left, ObjectLongMap<K> right,
+                                              LongBinaryOperator remapping) {
+        var larger = left.size() >= right.size() ? left : right;
+        larger.mergeAll(larger == left ? right : left, remapping);
+        return larger;
+    }
+
+    private static <K> ObjectIntMap<K> merge(ObjectIntMap<K> left, ObjectIntMap<K> right,
+                                             IntBinaryOperator remapping) {
+        var larger = left.size() >= right.size() ? left : right;
+        larger.mergeAll(larger == left ? right : left, remapping);
+        return larger;
+    }
+
+    private static IntIntMap merge(IntIntMap left, IntIntMap right, IntBinaryOperator remapping) {
+        var larger = left.size() >= right.size() ? left : right;
+        larger.mergeAll(larger == left ? right : left, remapping);
+        return larger;
+    }
+}
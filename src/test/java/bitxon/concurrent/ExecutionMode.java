@@ -0,0 +1,56 @@
+package bitxon.concurrent;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Where blocking tasks ({@code CompletableFuture.supplyAsync(..., executor)}, {@link ScatterGather}) run.
+ * <p>
+ * {@code supplyAsync} without an executor uses the common {@link ForkJoinPool}, sized to the number of cores:
+ * a few hundred concurrent blocking calls queue behind each other. A bounded platform pool caps concurrency at
+ * its size and costs a platform thread (about 1 MB of stack reserve) per slot. Virtual threads park on blocking
+ * calls and free their carrier thread, so concurrency is limited by memory, not by the pool size.
+ * <p>
+ * Executors are {@link AutoCloseable}: {@code close()} waits for submitted tasks and does nothing for the
+ * common pool.
+ */
+public enum ExecutionMode {
+
+    /** Shared common pool, not owned by the caller. */
+    FORK_JOIN,
+    /** Fixed pool of platform threads. */
+    PLATFORM_POOL,
+    /** New virtual thread per task. */
+    VIRTUAL_THREADS;
+
+    public static final int DEFAULT_PLATFORM_THREADS = 256;
+
+    /** System property selecting the {@link #configured()} mode. */
+    public static final String PROPERTY = "bitxon.execution.mode";
+
+    /**
+     * Mode from the {@value #PROPERTY} system property, {@link #FORK_JOIN} if not set.
+     */
+    public static ExecutionMode configured() {
+        return valueOf(System.getProperty(PROPERTY, FORK_JOIN.name()).trim().toUpperCase(Locale.ROOT));
+    }
+
+    public ExecutorService newExecutor() {
+        return newExecutor(DEFAULT_PLATFORM_THREADS);
+    }
+
+    /**
+     * @param platformThreads size of the {@link #PLATFORM_POOL}, ignored by other modes
+     */
+    public ExecutorService newExecutor(int platformThreads) {
+        return switch (this) {
+            case FORK_JOIN -> ForkJoinPool.commonPool();
+            case PLATFORM_POOL -> Executors.newFixedThreadPool(
+                platformThreads, Thread.ofPlatform().name("platform-pool-", 0).daemon(true).factory());
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("virtual-", 0).factory());
+        };
+    }
+}
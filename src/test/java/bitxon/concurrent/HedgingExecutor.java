@@ -0,0 +1,189 @@
+package bitxon.concurrent;
+
+import bitxon.stream.QuantileSketch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged requests: if a call has not finished after the hedge delay, a duplicate is started and the first
+ * attempt to finish wins, the other one is cancelled with interruption. Cuts tail latency caused by
+ * occasional slow calls at the cost of some extra load.
+ * <p>
+ * The delay is either fixed or the given percentile of recently observed attempt latencies (windows of
+ * {@value #WINDOW} samples, {@code initialDelay} until {@value #MIN_SAMPLES} samples are collected).
+ * Latencies of cancelled attempts are not observed.
+ * <p>
+ * Extra load is capped by a budget: every request earns {@code budget} hedge tokens (up to {@value #MAX_TOKENS}),
+ * a hedge costs one token, so at most {@code budget * requests} calls are duplicated. Failures are not retried:
+ * the first attempt to finish decides the result, successful or not. Calls must be idempotent.
+ */
+public class HedgingExecutor {
+
+    static final int WINDOW = 1_000;
+    static final int MIN_SAMPLES = 100;
+    static final int MAX_TOKENS = 10;
+    private static final long TOKEN = 1_000_000; // fixed point, budget 0.05 earns 50_000 per request
+
+    public record Statistics(long requests, long hedged, long hedgeWins, long budgetExhausted, Duration delay) {
+    }
+
+    private final Executor executor;
+    private final Duration fixedDelay;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final long tokensPerRequest;
+
+    private final AtomicLong tokens = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    private QuantileSketch currentWindow = new QuantileSketch(); // guarded by this
+    private QuantileSketch previousWindow;                        // guarded by this
+
+    private HedgingExecutor(Executor executor, Duration fixedDelay, double percentile, Duration initialDelay,
+                            double budget) {
+        if (!(budget >= 0 && budget <= 1)) {
+            throw new IllegalArgumentException("Budget must be in range [0, 1]: " + budget);
+        }
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.fixedDelay = fixedDelay;
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.tokensPerRequest = Math.round(budget * TOKEN);
+    }
+
+    /**
+     * @param budget maximal share of hedged requests, in range {@code [0, 1]}
+     */
+    public static HedgingExecutor fixedDelay(Executor executor, Duration delay, double budget) {
+        return new HedgingExecutor(executor, Objects.requireNonNull(delay, "delay"), 0, delay, budget);
+    }
+
+    /**
+     * @param percentile   latency percentile after which a call is hedged, in range {@code (0, 100)}, e.g. 95
+     * @param initialDelay delay until enough latencies are observed
+     * @param budget       maximal share of hedged requests, in range {@code [0, 1]}
+     */
+    public static HedgingExecutor percentile(Executor executor, double percentile, Duration initialDelay,
+                                             double budget) {
+        if (!(percentile > 0 && percentile < 100)) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100): " + percentile);
+        }
+        return new HedgingExecutor(executor, null, percentile, Objects.requireNonNull(initialDelay, "initialDelay"),
+            budget);
+    }
+
+    /**
+     * Runs the call, hedging it if it is slower than the current delay.
+     */
+    public <T> CompletableFuture<T> submit(Callable<? extends T> call) {
+        requests.increment();
+        earnToken();
+        var result = new CompletableFuture<T>();
+        var attempts = new CopyOnWriteArrayList<FutureTask<T>>();
+        result.whenComplete((value, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+
+        start(call, result, attempts, false);
+        var delay = delay();
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!spendToken()) {
+                budgetExhausted.increment();
+                return;
+            }
+            hedged.increment();
+            start(call, result, attempts, true);
+        });
+        return result;
+    }
+
+    public Statistics statistics() {
+        return new Statistics(requests.sum(), hedged.sum(), hedgeWins.sum(), budgetExhausted.sum(), delay());
+    }
+
+    /** Current hedge delay. */
+    public Duration delay() {
+        if (fixedDelay != null) {
+            return fixedDelay;
+        }
+        synchronized (this) {
+            var window = previousWindow != null ? previousWindow
+                : currentWindow.getCount() >= MIN_SAMPLES ? currentWindow
+                : null;
+            return window == null ? initialDelay : Duration.ofNanos((long) (window.getPercentile(percentile) * 1_000));
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private <T> void start(Callable<? extends T> call, CompletableFuture<T> result,
+                           List<FutureTask<T>> attempts, boolean hedge) {
+        long start = System.nanoTime();
+        var attempt = new FutureTask<T>(call::call) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                observe(System.nanoTime() - start);
+                try {
+                    if (result.complete(get()) && hedge) {
+                        hedgeWins.increment();
+                    }
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // not reachable, the task is done
+                }
+            }
+        };
+        attempts.add(attempt);
+        if (result.isDone()) { // completed while the attempt was registered
+            attempt.cancel(true);
+            return;
+        }
+        executor.execute(attempt);
+    }
+
+    private synchronized void observe(long nanos) {
+        if (fixedDelay != null) {
+            return;
+        }
+        currentWindow.accept((int) Math.min(Integer.MAX_VALUE, nanos / 1_000));
+        if (currentWindow.getCount() >= WINDOW) {
+            previousWindow = currentWindow;
+            currentWindow = new QuantileSketch();
+        }
+    }
+
+    private void earnToken() {
+        tokens.accumulateAndGet(tokensPerRequest, (current, earned) -> Math.min(MAX_TOKENS * TOKEN, current + earned));
+    }
+
+    private boolean spendToken() {
+        while (true) {
+            long current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package bitxon.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Typed chain of named stages that run one after another on an executor, with a timeout that yields the
+ * latest checkpoint instead of failing.
+ * <p>
+ * After every stage its output is published as an immutable checkpoint through an {@link AtomicReference},
+ * so the thread completing the timeout always sees a fully built value of a finished stage. The input is
+ * checkpoint {@code 0}. After a timeout, stages that have not started yet are skipped; a running stage is
+ * not interrupted, its output is discarded.
+ * <p>
+ * Every stage keeps latency statistics over all runs, and counts the runs that timed out while it was
+ * running or queued ({@link #statistics()}). Pipelines are immutable and thread safe; {@link #then} returns
+ * a new pipeline that shares statistics of the existing stages.
+ */
+public final class Pipeline<I, O> {
+
+    public static final String INPUT = "input";
+
+    /**
+     * Outcome of one run.
+     *
+     * @param completed whether all stages finished before the timeout
+     * @param stage     number of the last finished stage, {@code 0} for the input
+     * @param stageName name of the last finished stage, {@value #INPUT} for the input
+     * @param value     output of the last finished stage
+     * @param latencies durations of the finished stages in order
+     */
+    public record Result<O>(boolean completed, int stage, String stageName, Object value, List<Duration> latencies) {
+
+        /**
+         * @throws IllegalStateException if the run timed out, the value is an intermediate checkpoint then
+         */
+        @SuppressWarnings("unchecked")
+        public O output() {
+            if (!completed) {
+                throw new IllegalStateException("Pipeline timed out after stage " + stage + " (" + stageName + ")");
+            }
+            return (O) value;
+        }
+    }
+
+    public record StageStatistics(String name, long completed, long failed, long timedOut,
+                                  Duration average, Duration max) {
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private final List<Stage> stages;
+
+    private Pipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static <I, O> Pipeline<I, O> first(String name, Function<? super I, ? extends O> function) {
+        return new Pipeline<>(List.of(new Stage(name, function)));
+    }
+
+    public <R> Pipeline<I, R> then(String name, Function<? super O, ? extends R> function) {
+        var next = new ArrayList<>(stages);
+        next.add(new Stage(name, function));
+        return new Pipeline<>(List.copyOf(next));
+    }
+
+    /**
+     * Runs all stages asynchronously. The returned future completes exceptionally only if a stage throws
+     * before the timeout.
+     */
+    public CompletableFuture<Result<O>> run(I input, Executor executor, Duration timeout) {
+        var checkpoint = new AtomicReference<>(new Result<O>(false, 0, INPUT, input, List.of()));
+        var result = new CompletableFuture<Result<O>>();
+
+        CompletableFuture<Object> chain = CompletableFuture.completedFuture(input);
+        for (int i = 0; i < stages.size(); i++) {
+            var stage = stages.get(i);
+            int number = i + 1;
+            chain = chain.thenApplyAsync(value -> {
+                if (result.isDone()) {
+                    throw new CancellationException("Pipeline timed out before stage " + stage.name);
+                }
+                long start = System.nanoTime();
+                Object output;
+                try {
+                    output = stage.function.apply(value);
+                } catch (RuntimeException e) {
+                    stage.failed.increment();
+                    throw e;
+                }
+                long elapsed = System.nanoTime() - start;
+                stage.record(elapsed);
+                var latencies = new ArrayList<>(checkpoint.get().latencies()); // stages never overlap
+                latencies.add(Duration.ofNanos(elapsed));
+                checkpoint.set(new Result<>(number == stages.size(), number, stage.name, output, List.copyOf(latencies)));
+                return output;
+            }, executor);
+        }
+        chain.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(checkpoint.get());
+            } else {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+
+        return result
+            .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+            .handle((done, error) -> {
+                if (error == null) {
+                    return done;
+                }
+                if (error instanceof TimeoutException) {
+                    var last = checkpoint.get();
+                    if (!last.completed()) {
+                        stages.get(last.stage()).timedOut.increment();
+                    }
+                    return last;
+                }
+                throw new CompletionException(error);
+            });
+    }
+
+    public int size() {
+        return stages.size();
+    }
+
+    /** Statistics of every stage over all runs, in stage order. */
+    public List<StageStatistics> statistics() {
+        return stages.stream()
+            .map(Stage::statistics)
+            .toList();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static final class Stage {
+        final String name;
+        final Function<Object, Object> function;
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder timedOut = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        @SuppressWarnings("unchecked")
+        Stage(String name, Function<?, ?> function) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.function = (Function<Object, Object>) Objects.requireNonNull(function, "function");
+        }
+
+        void record(long nanos) {
+            completed.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        StageStatistics statistics() {
+            long count = completed.sum();
+            return new StageStatistics(name, count, failed.sum(), timedOut.sum(),
+                Duration.ofNanos(count == 0 ? 0 : totalNanos.sum() / count), Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
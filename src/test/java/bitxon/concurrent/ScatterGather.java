@@ -0,0 +1,238 @@
+package bitxon.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans out tasks to an executor and gathers results until a {@link Policy} is met or a global deadline passes.
+ * <p>
+ * Unlike {@code CompletableFuture.allOf / anyOf} with a timeout, tasks that are no longer needed are cancelled
+ * with interruption ({@link FutureTask#cancel(boolean) cancel(true)}), so blocking stragglers give their pool
+ * threads back instead of running to completion. Tasks must respond to interruption for that to work.
+ * <p>
+ * Every call returns per-task outcomes in submission order, including partial results on timeout.
+ */
+public class ScatterGather {
+
+    public enum Kind {
+        /** Every task succeeds; stops at the first failure. */
+        ALL,
+        /** One task succeeds; stops when all tasks failed. */
+        FIRST,
+        /** {@code k} tasks succeed; stops when too many tasks failed to reach {@code k}. */
+        QUORUM,
+        /** Whatever finished by the deadline; stops only when all tasks finished. */
+        BY_DEADLINE
+    }
+
+    /**
+     * Completion policy.
+     *
+     * @param quorum number of required successes, only for {@link Kind#QUORUM}
+     */
+    public record Policy(Kind kind, int quorum) {
+
+        public Policy {
+            Objects.requireNonNull(kind, "kind");
+            if (kind == Kind.QUORUM ? quorum < 1 : quorum != 0) {
+                throw new IllegalArgumentException("Invalid quorum " + quorum + " for " + kind);
+            }
+        }
+
+        public static Policy all() {
+            return new Policy(Kind.ALL, 0);
+        }
+
+        public static Policy first() {
+            return new Policy(Kind.FIRST, 0);
+        }
+
+        public static Policy quorum(int k) {
+            return new Policy(Kind.QUORUM, k);
+        }
+
+        public static Policy byDeadline() {
+            return new Policy(Kind.BY_DEADLINE, 0);
+        }
+
+        int required(int tasks) {
+            return switch (kind) {
+                case ALL, BY_DEADLINE -> tasks;
+                case FIRST -> Math.min(1, tasks);
+                case QUORUM -> quorum;
+            };
+        }
+
+        boolean isSatisfied(int succeeded, int tasks) {
+            return kind == Kind.BY_DEADLINE || succeeded >= required(tasks);
+        }
+
+        boolean isDone(int succeeded, int finished, int tasks) {
+            if (finished == tasks) {
+                return true;
+            }
+            if (kind == Kind.BY_DEADLINE) {
+                return false;
+            }
+            int pending = tasks - finished;
+            return succeeded >= required(tasks) || succeeded + pending < required(tasks);
+        }
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        /** Cancelled because the policy was met or became unreachable. */
+        CANCELLED,
+        /** Cancelled because the deadline passed. */
+        TIMED_OUT
+    }
+
+    /**
+     * Outcome of one task.
+     *
+     * @param value   result, {@code null} unless {@link Status#SUCCEEDED}
+     * @param error   exception thrown by the task, {@code null} unless {@link Status#FAILED}
+     * @param elapsed time from fan-out to completion or cancellation
+     */
+    public record TaskResult<T>(int index, Status status, T value, Throwable error, Duration elapsed) {
+
+        public boolean isSucceeded() {
+            return status == Status.SUCCEEDED;
+        }
+    }
+
+    /**
+     * @param tasks     outcomes in submission order
+     * @param satisfied whether the policy was met
+     * @param timedOut  whether the deadline passed before the policy was decided
+     */
+    public record Result<T>(List<TaskResult<T>> tasks, boolean satisfied, boolean timedOut, Duration elapsed) {
+
+        /** Values of succeeded tasks in submission order. */
+        public List<T> values() {
+            return tasks.stream()
+                .filter(TaskResult::isSucceeded)
+                .map(TaskResult::value)
+                .toList();
+        }
+
+        public long count(Status status) {
+            return tasks.stream()
+                .filter(task -> task.status() == status)
+                .count();
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private final Executor executor;
+
+    /**
+     * @param executor runs the tasks; a bounded pool is fine, queued tasks are cancelled before they start
+     */
+    public ScatterGather(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Submits all tasks and waits until the policy is decided or {@code timeout} passes, then cancels and
+     * interrupts the remaining tasks. A task that completes concurrently with its cancellation is reported
+     * with its real outcome.
+     *
+     * @throws IllegalArgumentException if the quorum is larger than the number of tasks
+     * @throws InterruptedException     if the calling thread is interrupted, all tasks are cancelled then
+     */
+    public <T> Result<T> invoke(List<? extends Callable<? extends T>> tasks, Policy policy, Duration timeout)
+        throws InterruptedException {
+        int size = tasks.size();
+        if (policy.required(size) > size) {
+            throw new IllegalArgumentException("Quorum " + policy.quorum() + " is larger than number of tasks " + size);
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        var completedAt = new long[size];
+        var futures = new ArrayList<FutureTask<T>>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            Callable<? extends T> task = tasks.get(i);
+            futures.add(new FutureTask<T>(task::call) {
+                @Override
+                protected void done() {
+                    completedAt[index] = System.nanoTime();
+                    completed.add(index); // publishes completedAt[index] to the gathering thread
+                }
+            });
+        }
+
+        var results = new ArrayList<TaskResult<T>>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(null);
+        }
+        int succeeded = 0;
+        int finished = 0;
+        boolean timedOut = false;
+        try {
+            futures.forEach(executor::execute);
+            while (!policy.isDone(succeeded, finished, size)) {
+                long remaining = deadline - System.nanoTime();
+                Integer index = remaining > 0 ? completed.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (index == null) {
+                    timedOut = true;
+                    break;
+                }
+                var result = outcome(index, futures.get(index), start, completedAt[index]);
+                results.set(index, result);
+                finished++;
+                if (result.isSucceeded()) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        var stragglerStatus = timedOut ? Status.TIMED_OUT : Status.CANCELLED;
+        long end = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            if (results.get(i) != null) {
+                continue;
+            }
+            var future = futures.get(i);
+            var result = future.isCancelled()
+                ? new TaskResult<T>(i, stragglerStatus, null, null, Duration.ofNanos(end - start))
+                : outcome(i, future, start, end);
+            results.set(i, result);
+            if (result.isSucceeded()) {
+                succeeded++;
+            }
+        }
+        return new Result<>(List.copyOf(results), policy.isSatisfied(succeeded, size), timedOut,
+            Duration.ofNanos(end - start));
+    }
+
+    /** Outcome of a completed, not cancelled future. */
+    private static <T> TaskResult<T> outcome(int index, FutureTask<T> future, long start, long completedAt) {
+        var elapsed = Duration.ofNanos(completedAt - start);
+        try {
+            return new TaskResult<>(index, Status.SUCCEEDED, future.get(), null, elapsed);
+        } catch (ExecutionException e) {
+            return new TaskResult<>(index, Status.FAILED, null, e.getCause(), elapsed);
+        } catch (CancellationException | InterruptedException e) {
+            // not reachable for a done future that was not cancelled
+            throw new IllegalStateException("Task " + index + " is not completed", e);
+        }
+    }
+}
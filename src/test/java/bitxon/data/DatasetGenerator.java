@@ -0,0 +1,225 @@
+package bitxon.data;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import lombok.Builder;
+import lombok.Getter;
+import net.datafaker.Faker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reproducible {@link Department} / {@link Employee} data sets of millions of rows.
+ * <p>
+ * Employees are numbered globally and split into blocks of {@value #BLOCK_SIZE}; departments get contiguous,
+ * nearly equal ranges. Seeds form a {@link SplittableRandom} hierarchy: the root seed yields one generator for
+ * department names and one seed per block, in a fixed order. Blocks are generated in parallel, and every block
+ * always gets the same seed, so the result for a given seed does not depend on the number of threads.
+ * <p>
+ * Only department names come from datafaker (one {@link Faker} per thread, reseeded per department).
+ * Titles and salaries are drawn from {@link TitleShare}s with plain arithmetic, which keeps 10M employees
+ * within seconds.
+ * <pre>{@code
+ * var departments = DatasetGenerator.builder()
+ *     .seed(7)
+ *     .departmentCount(1_000)
+ *     .employeeCount(10_000_000)
+ *     .build()
+ *     .departments();
+ * }</pre>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class DatasetGenerator {
+
+    static final int BLOCK_SIZE = 1 << 16;
+
+    /** Title mix and salary ranges of the StreamBusinessTest fixtures. */
+    public static final List<TitleShare> DEFAULT_TITLES = List.of(
+        new TitleShare("Senior", 0.4, SalaryDistribution.uniform(8_000, 12_000)),
+        new TitleShare("Middle", 0.3, SalaryDistribution.uniform(6_000, 8_000)),
+        new TitleShare("Junior", 0.3, SalaryDistribution.uniform(3_000, 4_500))
+    );
+
+    private static final ThreadLocal<SeededFaker> FAKERS = ThreadLocal.withInitial(SeededFaker::new);
+
+    @Builder.Default
+    private final long seed = 42L;
+    @Builder.Default
+    private final int departmentCount = 100;
+    @Builder.Default
+    private final int employeeCount = 100_000;
+    @Builder.Default
+    private final List<TitleShare> titles = DEFAULT_TITLES;
+
+    /**
+     * @param weight relative share of employees with the title, weights do not have to sum up to 1
+     */
+    public record TitleShare(String title, double weight, SalaryDistribution salary) {
+
+        public TitleShare {
+            Objects.requireNonNull(title, "title");
+            Objects.requireNonNull(salary, "salary");
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("Weight must be positive: " + weight);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SalaryDistribution {
+
+        int sample(SplittableRandom random);
+
+        /** Uniform in {@code [min, max)}. */
+        static SalaryDistribution uniform(int min, int max) {
+            if (min >= max) {
+                throw new IllegalArgumentException("Empty salary range [" + min + ", " + max + ")");
+            }
+            return random -> random.nextInt(min, max);
+        }
+
+        /** Normal, negative samples are cut to zero. */
+        static SalaryDistribution normal(double mean, double standardDeviation) {
+            return random -> (int) Math.max(0, Math.round(random.nextGaussian(mean, standardDeviation)));
+        }
+
+        /** Log-normal with the given median, long right tail for larger {@code sigma}. */
+        static SalaryDistribution logNormal(double median, double sigma) {
+            return random -> (int) Math.min(Integer.MAX_VALUE, Math.round(median * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Generates departments on the common fork-join pool.
+     */
+    public List<Department> departments() {
+        validate();
+        var employees = new Employee[employeeCount];
+        long[] seeds = blockSeeds();
+        IntStream.range(0, seeds.length).parallel().forEach(block -> fillBlock(employees, block, seeds[block]));
+
+        var names = departmentNames();
+        var all = Arrays.asList(employees);
+        return IntStream.range(0, departmentCount)
+            .parallel()
+            .mapToObj(department -> Department.builder()
+                .name(names[department])
+                .employees(new ArrayList<>(all.subList(departmentStart(department), departmentStart(department + 1))))
+                .build())
+            .toList();
+    }
+
+    /**
+     * Same as {@link #departments()} with the given number of threads.
+     */
+    public List<Department> departments(int threads) {
+        try (var pool = new ForkJoinPool(threads)) {
+            return pool.submit(() -> departments()).join();
+        }
+    }
+
+    /**
+     * Employees of all departments in order, generated lazily block by block. Parallel streams are supported
+     * and produce the same elements.
+     */
+    public Stream<Employee> employees() {
+        validate();
+        long[] seeds = blockSeeds();
+        return IntStream.range(0, seeds.length)
+            .mapToObj(block -> {
+                int from = block * BLOCK_SIZE;
+                var employees = new Employee[Math.min(BLOCK_SIZE, employeeCount - from)];
+                var random = new SplittableRandom(seeds[block]);
+                for (int i = 0; i < employees.length; i++) {
+                    employees[i] = employee(random);
+                }
+                return employees;
+            })
+            .flatMap(Arrays::stream);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private void fillBlock(Employee[] employees, int block, long blockSeed) {
+        var random = new SplittableRandom(blockSeed);
+        int to = Math.min(employeeCount, (block + 1) * BLOCK_SIZE);
+        for (int i = block * BLOCK_SIZE; i < to; i++) {
+            employees[i] = employee(random);
+        }
+    }
+
+    private Employee employee(SplittableRandom random) {
+        double roll = random.nextDouble(totalWeight());
+        for (var share : titles) {
+            roll -= share.weight();
+            if (roll < 0) {
+                return new Employee(share.title(), share.salary().sample(random));
+            }
+        }
+        var last = titles.get(titles.size() - 1); // rounding
+        return new Employee(last.title(), last.salary().sample(random));
+    }
+
+    private double totalWeight() {
+        double total = 0;
+        for (var share : titles) {
+            total += share.weight();
+        }
+        return total;
+    }
+
+    /** Names are unique: datafaker department name plus the department number. */
+    private String[] departmentNames() {
+        var random = new SplittableRandom(seed).split(); // the first split of the root is the name generator
+        long[] seeds = random.longs(departmentCount).toArray();
+        var names = new String[departmentCount];
+        IntStream.range(0, departmentCount).parallel().forEach(department -> {
+            var faker = FAKERS.get();
+            faker.random.setSeed(seeds[department]);
+            names[department] = faker.faker.commerce().department() + "-" + department;
+        });
+        return names;
+    }
+
+    private long[] blockSeeds() {
+        var root = new SplittableRandom(seed);
+        root.split(); // name generator
+        var blocks = root.split();
+        return blocks.longs((employeeCount + BLOCK_SIZE - 1) / BLOCK_SIZE).toArray();
+    }
+
+    /** First employee of the department, departments {@code [0, employeeCount % departmentCount)} get one extra. */
+    private int departmentStart(int department) {
+        int base = employeeCount / departmentCount;
+        int extra = employeeCount % departmentCount;
+        return department * base + Math.min(department, extra);
+    }
+
+    private void validate() {
+        if (departmentCount < 1) {
+            throw new IllegalArgumentException("Department count must be positive: " + departmentCount);
+        }
+        if (employeeCount < 0) {
+            throw new IllegalArgumentException("Employee count must not be negative: " + employeeCount);
+        }
+        if (titles == null || titles.isEmpty()) {
+            throw new IllegalArgumentException("At least one title is required");
+        }
+    }
+
+    private static final class SeededFaker {
+        final Random random = new Random();
+        final Faker faker = new Faker(random);
+    }
+}
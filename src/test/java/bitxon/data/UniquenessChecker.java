@@ -0,0 +1,270 @@
+package bitxon.data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Streaming duplicate detection in bounded memory: elements are checked as they arrive, only their 64-bit
+ * hashes are kept.
+ * <p>
+ * First pass ({@link #add}): a hash seen before marks the element as a suspect. Two modes:
+ * <ul>
+ *     <li>{@link Mode#HASH_TABLE}: open-addressing {@code long[]} of hashes, 16 to 32 bytes per expected element
+ *     (2 GB for 100M). Suspects are duplicates unless two different elements share a 64-bit hash
+ *     (probability about {@code n^2 / 2^65}, 0.03% for 100M elements).</li>
+ *     <li>{@link Mode#BLOOM_FILTER}: {@code -n ln(p) / ln(2)^2} bits (about 180 MB for 100M elements at
+ *     {@code p = 0.1%}). About {@code p * n} unique elements become false suspects.</li>
+ * </ul>
+ * Second pass ({@link #duplicates}): the same elements are streamed again (e.g. from a seeded generator or a file)
+ * and only suspects are counted exactly, so the result contains exact duplicates and nothing else. Memory of the
+ * second pass is proportional to the number of suspects.
+ * <p>
+ * Not thread safe.
+ */
+public final class UniquenessChecker<T> {
+
+    public enum Mode {
+        HASH_TABLE, BLOOM_FILTER
+    }
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private final Mode mode;
+    private final long expectedElements;
+    private final ToLongFunction<? super T> hasher;
+    private final LongHashSet hashes;
+    private final BloomFilter bloomFilter;
+    private final LongHashSet suspects = new LongHashSet(1 << 10, true);
+    private long count;
+
+    private UniquenessChecker(Mode mode, long expectedElements, double falsePositiveRate,
+                              ToLongFunction<? super T> hasher) {
+        if (expectedElements < 1) {
+            throw new IllegalArgumentException("Expected number of elements must be positive: " + expectedElements);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be in range (0, 1): " + falsePositiveRate);
+        }
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.expectedElements = expectedElements;
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+        this.hashes = mode == Mode.HASH_TABLE ? new LongHashSet(expectedElements, false) : null;
+        this.bloomFilter = mode == Mode.BLOOM_FILTER ? new BloomFilter(expectedElements, falsePositiveRate) : null;
+    }
+
+    /**
+     * Checker of strings (any {@link CharSequence}) hashed by content with {@link #hash64}.
+     */
+    public static <T extends CharSequence> UniquenessChecker<T> forStrings(Mode mode, long expectedElements) {
+        return new UniquenessChecker<>(mode, expectedElements, DEFAULT_FALSE_POSITIVE_RATE, UniquenessChecker::hash64);
+    }
+
+    /**
+     * @param hasher 64-bit hash of an element; {@code Object.hashCode()} is not enough, with 32 bits
+     *               collisions start at about 77 000 elements
+     */
+    public static <T> UniquenessChecker<T> of(Mode mode, long expectedElements, double falsePositiveRate,
+                                              ToLongFunction<? super T> hasher) {
+        return new UniquenessChecker<>(mode, expectedElements, falsePositiveRate, hasher);
+    }
+
+    /**
+     * @return {@code true} if the element is certainly seen for the first time,
+     * {@code false} if it is a suspected duplicate
+     * @throws IllegalStateException if more than the expected number of elements are added in
+     *                               {@link Mode#HASH_TABLE} mode
+     */
+    public boolean add(T element) {
+        long hash = hasher.applyAsLong(element);
+        boolean added = mode == Mode.HASH_TABLE ? hashes.add(hash) : bloomFilter.add(hash);
+        count++;
+        if (!added) {
+            suspects.add(hash);
+        }
+        return added;
+    }
+
+    /**
+     * Second pass over the same elements: counts suspects exactly.
+     *
+     * @return duplicated elements with their number of occurrences (at least 2)
+     */
+    public Map<T, Long> duplicates(Stream<? extends T> source) {
+        var counts = new HashMap<T, Long>();
+        source.forEach(element -> {
+            if (suspects.contains(hasher.applyAsLong(element))) {
+                counts.merge(element, 1L, Long::sum);
+            }
+        });
+        counts.values().removeIf(occurrences -> occurrences < 2);
+        return counts;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getExpectedElements() {
+        return expectedElements;
+    }
+
+    /** Number of added elements. */
+    public long getCount() {
+        return count;
+    }
+
+    /** Number of distinct suspected hashes. */
+    public long getSuspectCount() {
+        return suspects.size();
+    }
+
+    /** Approximate heap used by the hash table or Bloom filter and the suspects. */
+    public long getMemoryBytes() {
+        return (hashes != null ? hashes.memoryBytes() : bloomFilter.memoryBytes()) + suspects.memoryBytes();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{mode=%s, count=%d, suspects=%d, memoryBytes=%d}",
+            getClass().getSimpleName(), mode, count, suspects.size(), getMemoryBytes());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 64-bit FNV-1a over UTF-16 chars with the Murmur3 finalizer.
+     */
+    public static long hash64(CharSequence text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return mix64(hash ^ text.length());
+    }
+
+    static long mix64(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Open-addressing set of {@code long} hashes, linear probing, zero marks an empty slot
+     * (hash {@code 0} is stored as {@code 1}). Fixed capacity unless {@code growing}.
+     */
+    private static final class LongHashSet {
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private final boolean growing;
+        private long[] slots;
+        private int size;
+        private int limit;
+
+        LongHashSet(long expectedElements, boolean growing) {
+            if (expectedElements > MAX_CAPACITY / 2) {
+                throw new IllegalArgumentException("At most " + MAX_CAPACITY / 2 + " elements are supported");
+            }
+            this.growing = growing;
+            resize(Math.max(16, Long.highestOneBit(expectedElements * 2 - 1) << 1));
+        }
+
+        boolean add(long hash) {
+            hash = hash == 0 ? 1 : hash;
+            int mask = slots.length - 1;
+            int slot = (int) hash & mask;
+            while (slots[slot] != 0) {
+                if (slots[slot] == hash) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == limit) {
+                if (!growing || slots.length == MAX_CAPACITY) {
+                    throw new IllegalStateException("More elements than expected: " + size);
+                }
+                resize(slots.length * 2L);
+                return add(hash);
+            }
+            slots[slot] = hash;
+            size++;
+            return true;
+        }
+
+        boolean contains(long hash) {
+            hash = hash == 0 ? 1 : hash;
+            int mask = slots.length - 1;
+            for (int slot = (int) hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (slots[slot] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long memoryBytes() {
+            return 8L * slots.length;
+        }
+
+        private void resize(long capacity) {
+            var old = slots;
+            slots = new long[(int) capacity];
+            limit = (int) (capacity * 3 / 4);
+            size = 0;
+            if (old != null) {
+                for (long hash : old) {
+                    if (hash != 0) {
+                        add(hash);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bloom filter over {@code long} hashes, {@code k} bit positions by double hashing of the two 32-bit halves.
+     */
+    private static final class BloomFilter {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashFunctions;
+
+        BloomFilter(long expectedElements, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[Math.toIntExact((m + 63) >>> 6)];
+            this.bitCount = 64L * bits.length;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedElements * Math.log(2)));
+        }
+
+        /**
+         * @return {@code true} if at least one bit was not set, so the hash is certainly new
+         */
+        boolean add(long hash) {
+            long h1 = hash & 0xFFFFFFFFL;
+            long h2 = (hash >>> 32) | 1;
+            boolean added = false;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((bits[word] & mask) == 0) {
+                    bits[word] |= mask;
+                    added = true;
+                }
+            }
+            return added;
+        }
+
+        long memoryBytes() {
+            return 8L * bits.length;
+        }
+    }
+}
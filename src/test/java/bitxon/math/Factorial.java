@@ -0,0 +1,194 @@
+package bitxon.math;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Factorials and binomial coefficients over {@link BigInteger}.
+ * <p>
+ * {@code n!} is computed as {@code 2^(n - bitCount(n))} times the product of the odd parts of {@code 1 .. n}.
+ * The product is evaluated as a balanced product tree (binary splitting), so most multiplications are between
+ * numbers of similar size, where {@link BigInteger} switches to Karatsuba / Toom-Cook. Leaves multiply in
+ * {@code long} until overflow. Ranges longer than {@link #PARALLEL_THRESHOLD} are split across the common
+ * fork-join pool. Terms up to {@code 20!} come from a {@code long} table.
+ * <p>
+ * Instances keep a bounded LRU cache of recent results. Thread safe.
+ */
+public class Factorial {
+
+    public static final int MAX_LONG_INDEX = 20;
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    static final int LEAF_SIZE = 32;
+    static final int PARALLEL_THRESHOLD = 4_096;
+
+    private static final long[] LONG_TERMS = new long[MAX_LONG_INDEX + 1];
+
+    static {
+        LONG_TERMS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_INDEX; i++) {
+            LONG_TERMS[i] = LONG_TERMS[i - 1] * i;
+        }
+    }
+
+    private final Map<Integer, BigInteger> cache;
+
+    public Factorial() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public Factorial(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BigInteger> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * {@code n!} through the cache.
+     */
+    public BigInteger get(int n) {
+        checkNotNegative(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(LONG_TERMS[n]);
+        }
+        var cached = cache.get(n);
+        if (cached != null) {
+            return cached;
+        }
+        var result = compute(n);
+        cache.put(n, result);
+        return result;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @throws ArithmeticException if {@code n > 20}, the result would overflow
+     */
+    public static long asLong(int n) {
+        checkNotNegative(n);
+        if (n > MAX_LONG_INDEX) {
+            throw new ArithmeticException(n + "! does not fit into long, max is " + MAX_LONG_INDEX + "!");
+        }
+        return LONG_TERMS[n];
+    }
+
+    /**
+     * {@code n!} with a product tree, no caching.
+     */
+    public static BigInteger compute(int n) {
+        checkNotNegative(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(LONG_TERMS[n]);
+        }
+        int twos = n - Integer.bitCount(n); // exponent of 2 in n! (Legendre's formula)
+        return oddProduct(1, n).shiftLeft(twos);
+    }
+
+    /**
+     * {@code 1 * 2 * ... * n} one multiplication at a time, the baseline for benchmarks.
+     */
+    public static BigInteger naive(int n) {
+        checkNotNegative(n);
+        var result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * Binomial coefficient {@code n! / (k! (n - k)!)}, zero if {@code k > n}.
+     */
+    public static BigInteger binomial(int n, int k) {
+        checkNotNegative(n);
+        checkNotNegative(k);
+        if (k > n) {
+            return BigInteger.ZERO;
+        }
+        k = Math.min(k, n - k);
+        if (k == 0) {
+            return BigInteger.ONE;
+        }
+        // (n - k + 1) * ... * n / k!, both with their powers of two removed
+        int twos = twos(n) - twos(n - k) - twos(k);
+        return oddProduct(n - k + 1L, n).divide(oddProduct(1, k)).shiftLeft(twos);
+    }
+
+    /** Exponent of 2 in {@code n!}. */
+    private static int twos(int n) {
+        return n - Integer.bitCount(n);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Product of the odd parts ({@code m >> numberOfTrailingZeros(m)}) of all {@code m} in {@code [from, to]}.
+     */
+    static BigInteger oddProduct(long from, long to) {
+        if (to - from < PARALLEL_THRESHOLD) {
+            return product(from, to);
+        }
+        return ForkJoinPool.commonPool().invoke(new ProductTask(from, to));
+    }
+
+    private static BigInteger product(long from, long to) {
+        if (to - from < LEAF_SIZE) {
+            return leafProduct(from, to);
+        }
+        long middle = (from + to) >>> 1;
+        return product(from, middle).multiply(product(middle + 1, to));
+    }
+
+    private static BigInteger leafProduct(long from, long to) {
+        var result = BigInteger.ONE;
+        long accumulator = 1;
+        for (long m = from; m <= to; m++) {
+            long odd = m >> Long.numberOfTrailingZeros(m);
+            if (accumulator > Long.MAX_VALUE / odd) {
+                result = result.multiply(BigInteger.valueOf(accumulator));
+                accumulator = odd;
+            } else {
+                accumulator *= odd;
+            }
+        }
+        return result.multiply(BigInteger.valueOf(accumulator));
+    }
+
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        private final long from;
+        private final long to;
+
+        ProductTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                return product(from, to);
+            }
+            long middle = (from + to) >>> 1;
+            var left = new ProductTask(from, middle).fork();
+            var right = new ProductTask(middle + 1, to).compute();
+            return left.join().multiply(right);
+        }
+    }
+
+    private static void checkNotNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Argument must not be negative: " + n);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package bitxon.math;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fibonacci numbers, {@code F(0) = 0, F(1) = 1}.
+ * <p>
+ * Terms up to {@code F(92)} (the largest that fits into {@code long}) come from a precomputed table.
+ * Larger terms use fast doubling over {@link BigInteger}: O(log n) multiplications,
+ * {@code F(2k) = F(k) * (2F(k+1) - F(k))} and {@code F(2k+1) = F(k)^2 + F(k+1)^2}.
+ * <p>
+ * Instances keep a bounded LRU cache of computed {@link BigInteger} terms; a range request computes two seed terms
+ * (cached) and then only adds, so repeated range requests are cheap. Thread safe.
+ */
+public class Fibonacci {
+
+    public static final int MAX_LONG_INDEX = 92;
+    public static final int DEFAULT_CACHE_SIZE = 1_024;
+
+    private static final long[] LONG_TERMS = new long[MAX_LONG_INDEX + 1];
+
+    static {
+        LONG_TERMS[1] = 1;
+        for (int i = 2; i <= MAX_LONG_INDEX; i++) {
+            LONG_TERMS[i] = LONG_TERMS[i - 1] + LONG_TERMS[i - 2];
+        }
+    }
+
+    private final Map<Integer, BigInteger> cache;
+
+    public Fibonacci() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public Fibonacci(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BigInteger> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * @throws ArithmeticException if {@code n > 92}, the result would overflow
+     */
+    public static long asLong(int n) {
+        checkIndex(n);
+        if (n > MAX_LONG_INDEX) {
+            throw new ArithmeticException("F(" + n + ") does not fit into long, max index is " + MAX_LONG_INDEX);
+        }
+        return LONG_TERMS[n];
+    }
+
+    /**
+     * Terms {@code F(0) .. F(n)}, no boxing.
+     *
+     * @throws ArithmeticException if {@code n > 92}
+     */
+    public static LongStream longSequence(int n) {
+        asLong(n);
+        return LongStream.of(LONG_TERMS).limit(n + 1L);
+    }
+
+    /**
+     * Infinite lazy sequence {@code F(0), F(1), ...}.
+     */
+    public static Stream<BigInteger> stream() {
+        return lazy(BigInteger.ZERO, BigInteger.ONE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Single term, O(log n) multiplications, no caching.
+     */
+    public static BigInteger compute(int n) {
+        checkIndex(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(LONG_TERMS[n]);
+        }
+        // start from the longest prefix of n's bits whose pair F(k), F(k + 1) is in the long table
+        int shift = 0;
+        while ((n >>> shift) >= MAX_LONG_INDEX) {
+            shift++;
+        }
+        int k = n >>> shift;
+        var a = BigInteger.valueOf(LONG_TERMS[k]);     // F(k)
+        var b = BigInteger.valueOf(LONG_TERMS[k + 1]); // F(k + 1)
+        for (int bit = shift - 1; bit >= 0; bit--) {
+            var doubled = a.multiply(b.shiftLeft(1).subtract(a)); // F(2k)
+            var doubledNext = a.multiply(a).add(b.multiply(b));   // F(2k + 1)
+            if (((n >>> bit) & 1) == 0) {
+                a = doubled;
+                b = doubledNext;
+            } else {
+                a = doubledNext;
+                b = doubled.add(doubledNext);
+            }
+        }
+        return a;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Single term through the cache.
+     */
+    public BigInteger get(int n) {
+        checkIndex(n);
+        if (n <= MAX_LONG_INDEX) {
+            return BigInteger.valueOf(LONG_TERMS[n]);
+        }
+        var cached = cache.get(n);
+        if (cached != null) {
+            return cached;
+        }
+        var term = compute(n);
+        cache.put(n, term);
+        return term;
+    }
+
+    /**
+     * Lazy terms {@code F(from) .. F(toInclusive)}: two cached seed terms, then one addition per term.
+     */
+    public Stream<BigInteger> range(int from, int toInclusive) {
+        checkIndex(from);
+        if (toInclusive < from) {
+            return Stream.empty();
+        }
+        return lazy(get(from), get(from + 1), (long) toInclusive - from + 1);
+    }
+
+    private static Stream<BigInteger> lazy(BigInteger first, BigInteger second, long size) {
+        var spliterator = new Spliterators.AbstractSpliterator<BigInteger>(
+            size, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            private BigInteger current = first;
+            private BigInteger next = second;
+            private long remaining = size;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super BigInteger> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+                remaining--;
+                var term = current;
+                current = next;
+                next = term.add(next);
+                action.accept(term);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private static void checkIndex(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Index must not be negative: " + n);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package bitxon.math;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Segmented Sieve of Eratosthenes over a bitset of odd numbers: bit {@code i} is set iff {@code 2i + 1} is prime.
+ * <p>
+ * Base primes up to {@code sqrt(limit)} are sieved first, then the bitset is split into cache-sized segments
+ * (32 KB each) that are sieved independently on the common fork-join pool. Segments are aligned to whole
+ * {@code long} words, so parallel segments never write to the same word. Memory is {@code limit / 16} bytes.
+ */
+public final class PrimeSieve {
+
+    static final int SEGMENT_WORDS = 4_096; // 32 KB, 262 144 odd numbers
+
+    private final int limit;
+    private final long[] primeBits;
+    private final int count;
+
+    private PrimeSieve(int limit, long[] primeBits) {
+        this.limit = limit;
+        this.primeBits = primeBits;
+        int primes = limit >= 2 ? 1 : 0; // 2 is not in the odd-only bitset
+        for (long word : primeBits) {
+            primes += Long.bitCount(word);
+        }
+        this.count = primes;
+    }
+
+    /**
+     * Sieves all numbers in {@code [0, limit]}.
+     */
+    public static PrimeSieve of(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        int oddCount = (int) ((limit + 1L) / 2); // odd numbers 1, 3, ... <= limit
+        var bits = new long[(oddCount + 63) >>> 6];
+        var basePrimes = basePrimes((int) Math.sqrt(limit));
+        int segments = (bits.length + SEGMENT_WORDS - 1) / SEGMENT_WORDS;
+
+        IntStream.range(0, segments).parallel().forEach(segment -> {
+            int fromWord = segment * SEGMENT_WORDS;
+            int toWord = Math.min(bits.length, fromWord + SEGMENT_WORDS);
+            sieveSegment(bits, fromWord, toWord, basePrimes, oddCount);
+        });
+        return new PrimeSieve(limit, bits);
+    }
+
+    /** Odd primes up to {@code bound} with a plain sieve; bound is at most 46 340. */
+    private static int[] basePrimes(int bound) {
+        var composite = new boolean[bound + 1];
+        var primes = new int[bound + 1];
+        int size = 0;
+        for (int i = 3; i <= bound; i += 2) {
+            if (!composite[i]) {
+                primes[size++] = i;
+                for (int j = i * i; j <= bound; j += 2 * i) {
+                    composite[j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, size);
+    }
+
+    /**
+     * Marks composites in words {@code [fromWord, toWord)}, then flips the words so set bits mean prime.
+     */
+    private static void sieveSegment(long[] bits, int fromWord, int toWord, int[] basePrimes, int oddCount) {
+        long fromIndex = (long) fromWord << 6;
+        long toIndex = Math.min((long) toWord << 6, oddCount);
+        long lowest = 2 * fromIndex + 1;
+        long highest = 2 * (toIndex - 1) + 1;
+
+        for (int prime : basePrimes) {
+            long square = (long) prime * prime;
+            if (square > highest) {
+                break;
+            }
+            long start = Math.max(square, (lowest + prime - 1) / prime * prime);
+            if ((start & 1) == 0) {
+                start += prime; // only odd multiples are in the bitset
+            }
+            for (long index = (start - 1) / 2; index < toIndex; index += prime) {
+                bits[(int) (index >>> 6)] |= 1L << index;
+            }
+        }
+
+        for (int word = fromWord; word < toWord; word++) {
+            bits[word] = ~bits[word];
+        }
+        if (fromWord == 0) {
+            bits[0] &= ~1L; // 1 is not prime
+        }
+        if (toIndex < ((long) toWord << 6)) {
+            bits[toWord - 1] &= (1L << (toIndex & 63)) - 1; // numbers beyond the limit
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public int limit() {
+        return limit;
+    }
+
+    /** Number of primes in {@code [0, limit]}. */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code number} is greater than the limit
+     */
+    public boolean isPrime(int number) {
+        if (number > limit) {
+            throw new IllegalArgumentException("Number " + number + " is above sieve limit " + limit);
+        }
+        if (number < 2) {
+            return false;
+        }
+        if ((number & 1) == 0) {
+            return number == 2;
+        }
+        int index = number >>> 1;
+        return (primeBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** Smallest prime greater than {@code number}, empty if there is none up to the limit. */
+    public OptionalInt nextPrime(int number) {
+        if (number < 2) {
+            return limit >= 2 ? OptionalInt.of(2) : OptionalInt.empty();
+        }
+        long index = (number + 1L) >>> 1; // first odd number greater than number
+        int word = (int) (index >>> 6);
+        if (word >= primeBits.length) {
+            return OptionalInt.empty();
+        }
+        long bits = primeBits[word] & (-1L << index);
+        while (bits == 0) {
+            if (++word == primeBits.length) {
+                return OptionalInt.empty();
+            }
+            bits = primeBits[word];
+        }
+        return OptionalInt.of(2 * ((word << 6) + Long.numberOfTrailingZeros(bits)) + 1);
+    }
+
+    /** Primes in ascending order, no boxing. */
+    public IntStream primes() {
+        var spliterator = Spliterators.spliterator(new PrimeIterator(), count,
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    private final class PrimeIterator implements PrimitiveIterator.OfInt {
+        private boolean two = limit >= 2;
+        private int word = -1;
+        private long bits;
+
+        @Override
+        public boolean hasNext() {
+            if (two) {
+                return true;
+            }
+            while (bits == 0) {
+                if (word + 1 >= primeBits.length) {
+                    return false;
+                }
+                bits = primeBits[++word];
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (two) {
+                two = false;
+                return 2;
+            }
+            int bit = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            return 2 * ((word << 6) + bit) + 1;
+        }
+    }
+}
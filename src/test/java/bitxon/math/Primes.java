@@ -0,0 +1,127 @@
+package bitxon.math;
+
+import java.util.stream.IntStream;
+
+/**
+ * Prime number facade: {@link PrimeSieve} for ranges, deterministic Miller-Rabin for isolated {@code long} inputs.
+ */
+public final class Primes {
+
+    /** Numbers up to this bound are answered from a shared sieve (64 KB). */
+    static final int SMALL_LIMIT = 1 << 20;
+
+    /** Witnesses that make Miller-Rabin deterministic for every n < 3.3 * 10^24, which covers all longs. */
+    private static final long[] WITNESSES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private Primes() {
+    }
+
+    private static final class SmallSieve {
+        static final PrimeSieve INSTANCE = PrimeSieve.of(SMALL_LIMIT);
+    }
+
+    public static boolean isPrime(long number) {
+        if (number <= SMALL_LIMIT) {
+            return number >= 2 && SmallSieve.INSTANCE.isPrime((int) number);
+        }
+        return millerRabin(number);
+    }
+
+    public static IntStream primesUpTo(int limit) {
+        return PrimeSieve.of(limit).primes();
+    }
+
+    /** Number of primes {@code <= limit}. */
+    public static int countPrimes(int limit) {
+        return PrimeSieve.of(limit).count();
+    }
+
+    /**
+     * Smallest prime greater than {@code number}.
+     *
+     * @throws ArithmeticException if the result does not fit into a {@code long}
+     */
+    public static long nextPrime(long number) {
+        if (number < SMALL_LIMIT) {
+            var next = SmallSieve.INSTANCE.nextPrime((int) Math.max(number, 0));
+            if (next.isPresent()) {
+                return next.getAsInt();
+            }
+            number = SMALL_LIMIT;
+        }
+        long candidate = (number + 1) | 1; // next odd number
+        while (candidate > 0) {
+            if (millerRabin(candidate)) {
+                return candidate;
+            }
+            candidate += 2;
+        }
+        throw new ArithmeticException("No prime greater than " + number + " fits into long");
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    static boolean millerRabin(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (long witness : WITNESSES) {
+            if (n % witness == 0) {
+                return n == witness;
+            }
+        }
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+        for (long witness : WITNESSES) {
+            long x = powMod(witness, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s && composite; r++) {
+                x = mulMod(x, x, n);
+                composite = x != n - 1;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long powMod(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = mulMod(result, base, modulus);
+            }
+            base = mulMod(base, base, modulus);
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * {@code a * b mod m} for {@code 0 <= a, b < m}, without overflow and without allocation.
+     */
+    static long mulMod(long a, long b, long m) {
+        if ((a | b) >>> 31 == 0) {
+            return a * b % m; // both fit into 31 bits, product fits into long
+        }
+        long result = 0;
+        while (b > 0) {
+            if ((b & 1) == 1) {
+                result = addMod(result, a, m);
+            }
+            a = addMod(a, a, m);
+            b >>= 1;
+        }
+        return result;
+    }
+
+    private static long addMod(long a, long b, long m) {
+        return a >= m - b ? a - (m - b) : a + b;
+    }
+}
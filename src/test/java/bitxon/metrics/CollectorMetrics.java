@@ -0,0 +1,208 @@
+package bitxon.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Metrics of collectors decorated with {@link #instrument}: element count, time spent in accumulate, combine
+ * and finish, and the split balance of parallel streams (elements per leaf container).
+ * <pre>{@code
+ * var metrics = new CollectorMetrics("salaryByTitle");
+ * var result = employees.parallelStream()
+ *     .collect(metrics.instrument(Collectors.groupingBy(Employee::getTitle, Collectors.averagingInt(Employee::getSalary))));
+ * metrics.snapshot(); // CollectorMetrics.Snapshot[name=salaryByTitle, elements=17, containers=...]
+ * }</pre>
+ * Every container of the decorated collector is wrapped into a holder that counts its own elements in a plain
+ * field, shared {@link LongAdder}s are touched only per container. {@link System#nanoTime()} costs about as much
+ * as a cheap accumulate step, so only every {@code sampling}-th accumulate call is timed and accumulate time is
+ * an estimate. One instance can decorate any number of collectors and collect from any number of threads.
+ * Also readable as a JMX MBean, see {@link #registerMBean()}.
+ */
+public final class CollectorMetrics implements CollectorMetricsMBean {
+
+    public static final int DEFAULT_SAMPLING = 16;
+
+    private final String name;
+    private final int samplingMask;
+
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder containers = new LongAdder();
+    private final LongAdder combines = new LongAdder();
+    private final LongAdder finishes = new LongAdder();
+    private final LongAdder accumulateNanos = new LongAdder();
+    private final LongAdder combineNanos = new LongAdder();
+    private final LongAdder finishNanos = new LongAdder();
+    private final Histogram partitionSizes = new Histogram();
+
+    /**
+     * @param partitionSizes elements per leaf container: one entry for a sequential stream, one per split
+     *                       for a parallel stream
+     */
+    public record Snapshot(String name, long elements, long containers, long combines, long finishes,
+                           Duration accumulate, Duration combine, Duration finish, Histogram.Snapshot partitionSizes) {
+
+        /** Largest partition relative to the mean, {@code 1} is a perfect split. */
+        public double imbalance() {
+            double mean = partitionSizes.mean();
+            return mean == 0 ? 1 : partitionSizes.max() / mean;
+        }
+    }
+
+    public CollectorMetrics(String name) {
+        this(name, DEFAULT_SAMPLING);
+    }
+
+    /**
+     * @param sampling time every {@code sampling}-th accumulate call, a power of two, {@code 1} times all of them
+     */
+    public CollectorMetrics(String name, int sampling) {
+        if (sampling < 1 || Integer.bitCount(sampling) != 1) {
+            throw new IllegalArgumentException("Sampling must be a positive power of two: " + sampling);
+        }
+        this.name = Objects.requireNonNull(name, "name");
+        this.samplingMask = sampling - 1;
+    }
+
+    /**
+     * Same results as {@code collector}. {@code IDENTITY_FINISH} and {@code CONCURRENT} are dropped from
+     * the characteristics: containers are wrapped, and parallel streams get one container per split
+     * so that the split balance is visible.
+     */
+    public <T, A, R> Collector<T, ?, R> instrument(Collector<T, A, R> collector) {
+        var supplier = collector.supplier();
+        BiConsumer<A, T> accumulator = collector.accumulator();
+        BinaryOperator<A> combiner = collector.combiner();
+        Function<A, R> finisher = collector.finisher();
+
+        var characteristics = EnumSet.noneOf(Collector.Characteristics.class);
+        characteristics.addAll(collector.characteristics());
+        characteristics.remove(Collector.Characteristics.IDENTITY_FINISH);
+        characteristics.remove(Collector.Characteristics.CONCURRENT);
+
+        return Collector.of(
+            () -> {
+                containers.increment();
+                return new Container<>(supplier.get());
+            },
+            (container, element) -> {
+                if ((container.elements++ & samplingMask) != 0) {
+                    accumulator.accept(container.state, element);
+                    return;
+                }
+                long start = System.nanoTime();
+                accumulator.accept(container.state, element);
+                accumulateNanos.add((System.nanoTime() - start) * (samplingMask + 1));
+            }, // regular stream
+            (left, right) -> {
+                long start = System.nanoTime();
+                recordPartition(left);
+                recordPartition(right);
+                left.state = combiner.apply(left.state, right.state);
+                left.elements += right.elements;
+                combines.increment();
+                combineNanos.add(System.nanoTime() - start);
+                return left;
+            }, // parallel stream
+            container -> {
+                recordPartition(container);
+                long start = System.nanoTime();
+                var result = finisher.apply(container.state);
+                finishes.increment();
+                finishNanos.add(System.nanoTime() - start);
+                return result;
+            },
+            characteristics.toArray(Collector.Characteristics[]::new)
+        );
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, elements.sum(), containers.sum(), combines.sum(), finishes.sum(),
+            Duration.ofNanos(accumulateNanos.sum()), Duration.ofNanos(combineNanos.sum()),
+            Duration.ofNanos(finishNanos.sum()), partitionSizes.snapshot());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Registers this instance in the platform MBean server as {@code bitxon.metrics:type=Collector,name=<name>}. */
+    public ObjectName registerMBean() throws JMException {
+        return Jmx.register("Collector", name, this);
+    }
+
+    public void unregisterMBean() throws JMException {
+        Jmx.unregister("Collector", name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getElements() {
+        return elements.sum();
+    }
+
+    @Override
+    public long getContainers() {
+        return containers.sum();
+    }
+
+    @Override
+    public long getCombines() {
+        return combines.sum();
+    }
+
+    @Override
+    public long getAccumulateNanos() {
+        return accumulateNanos.sum();
+    }
+
+    @Override
+    public long getCombineNanos() {
+        return combineNanos.sum();
+    }
+
+    @Override
+    public long getFinishNanos() {
+        return finishNanos.sum();
+    }
+
+    @Override
+    public double getImbalance() {
+        return snapshot().imbalance();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** A container that has not been combined yet is a leaf: one per sequential collect or per parallel split. */
+    private void recordPartition(Container<?> container) {
+        if (container.leaf) {
+            container.leaf = false;
+            elements.add(container.elements);
+            partitionSizes.record(container.elements);
+        }
+    }
+
+    private static final class Container<A> {
+        A state;
+        long elements;
+        boolean leaf = true;
+
+        Container(A state) {
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package bitxon.metrics;
+
+/**
+ * JMX view of {@link CollectorMetrics}.
+ */
+public interface CollectorMetricsMBean {
+
+    String getName();
+
+    long getElements();
+
+    long getContainers();
+
+    long getCombines();
+
+    long getAccumulateNanos();
+
+    long getCombineNanos();
+
+    long getFinishNanos();
+
+    double getImbalance();
+}
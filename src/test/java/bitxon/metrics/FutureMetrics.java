@@ -0,0 +1,217 @@
+package bitxon.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of {@link CompletableFuture} fan-outs: queueing and execution time of async stages, and outcomes
+ * (success, failure, timeout, cancellation) with end-to-end latency of tracked futures.
+ * <pre>{@code
+ * var metrics = new FutureMetrics("search");
+ * var pool = metrics.executor(executor);                    // queue + execution time of every async stage
+ * var future = metrics.track(CompletableFuture               // outcome + latency of the whole chain
+ *     .supplyAsync(() -> search(query), pool)
+ *     .thenApplyAsync(this::rank, pool)
+ *     .orTimeout(1, TimeUnit.SECONDS));
+ * }</pre>
+ * Counters are {@link LongAdder}s and times go into {@link Histogram}s in nanoseconds, so recording from many
+ * threads stays cheap. Also readable as a JMX MBean, see {@link #registerMBean()}.
+ */
+public final class FutureMetrics implements FutureMetricsMBean {
+
+    private final String name;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final Histogram queueNanos = new Histogram();
+    private final Histogram executionNanos = new Histogram();
+    private final Histogram latencyNanos = new Histogram();
+
+    /**
+     * @param queueNanos     time between submission to {@link #executor} and the start of the task
+     * @param executionNanos run time of tasks started by {@link #executor}
+     * @param latencyNanos   time between {@link #track} and completion of the tracked future
+     */
+    public record Snapshot(String name, long submitted, long rejected, long executed,
+                           long succeeded, long failed, long timedOut, long cancelled,
+                           Histogram.Snapshot queueNanos, Histogram.Snapshot executionNanos,
+                           Histogram.Snapshot latencyNanos) {
+
+        /** Tasks submitted but not started yet. */
+        public long queued() {
+            return submitted - rejected - executed;
+        }
+    }
+
+    public FutureMetrics(String name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    /**
+     * Decorates the executor: every task records its queueing and execution time. Pass it to the
+     * {@code *Async} methods of a chain.
+     */
+    public Executor executor(Executor delegate) {
+        Objects.requireNonNull(delegate, "delegate");
+        return command -> {
+            long enqueued = System.nanoTime();
+            submitted.increment();
+            try {
+                delegate.execute(() -> {
+                    long start = System.nanoTime();
+                    queueNanos.record(start - enqueued);
+                    try {
+                        command.run();
+                    } finally {
+                        executionNanos.record(System.nanoTime() - start);
+                        executed.increment();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Records the outcome and latency of the future when it completes.
+     * Apply it last, after {@code orTimeout}, so that timeouts are seen as such.
+     * <p>
+     * Returns a future with the same outcome that completes only after it was recorded: dependents of the
+     * source run last-in-first-out, so joining the source itself may return before the metrics are updated.
+     * Cancelling the returned future cancels the source.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        var tracked = new CompletableFuture<T>();
+        future.whenComplete((value, failure) -> {
+            latencyNanos.record(System.nanoTime() - start);
+            var cause = unwrap(failure);
+            if (cause == null) {
+                succeeded.increment();
+            } else if (cause instanceof TimeoutException) {
+                timedOut.increment();
+            } else if (cause instanceof CancellationException) {
+                cancelled.increment();
+            } else {
+                failed.increment();
+            }
+            if (failure == null) {
+                tracked.complete(value);
+            } else {
+                tracked.completeExceptionally(failure);
+            }
+        });
+        tracked.whenComplete((value, failure) -> {
+            if (tracked.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return tracked;
+    }
+
+    /**
+     * {@link CompletableFuture#supplyAsync} on the decorated executor, tracked.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return track(CompletableFuture.supplyAsync(supplier, executor(executor)));
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, submitted.sum(), rejected.sum(), executed.sum(),
+            succeeded.sum(), failed.sum(), timedOut.sum(), cancelled.sum(),
+            queueNanos.snapshot(), executionNanos.snapshot(), latencyNanos.snapshot());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Registers this instance in the platform MBean server as {@code bitxon.metrics:type=Future,name=<name>}. */
+    public ObjectName registerMBean() throws JMException {
+        return Jmx.register("Future", name, this);
+    }
+
+    public void unregisterMBean() throws JMException {
+        Jmx.unregister("Future", name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    @Override
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    @Override
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    @Override
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    @Override
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public long getQueueNanosP99() {
+        return queueNanos.snapshot().p99();
+    }
+
+    @Override
+    public long getExecutionNanosP99() {
+        return executionNanos.snapshot().p99();
+    }
+
+    @Override
+    public long getLatencyNanosP99() {
+        return latencyNanos.snapshot().p99();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static Throwable unwrap(Throwable failure) {
+        var cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,27 @@
+package bitxon.metrics;
+
+/**
+ * JMX view of {@link FutureMetrics}.
+ */
+public interface FutureMetricsMBean {
+
+    String getName();
+
+    long getSubmitted();
+
+    long getExecuted();
+
+    long getSucceeded();
+
+    long getFailed();
+
+    long getTimedOut();
+
+    long getCancelled();
+
+    long getQueueNanosP99();
+
+    long getExecutionNanosP99();
+
+    long getLatencyNanosP99();
+}
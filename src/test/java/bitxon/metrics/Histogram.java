@@ -0,0 +1,103 @@
+package bitxon.metrics;
+
+import bitxon.stream.IntStatistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of non-negative {@code long} values (latencies in nanoseconds, partition sizes).
+ * <p>
+ * Log-linear buckets as in HdrHistogram: values below {@code 32} are exact, larger values are split into
+ * powers of two with 32 linear sub-buckets each, so a reported percentile is within ~3% of the exact one.
+ * The whole {@code long} range takes 1 888 buckets (15 KB). Recording is a single atomic increment plus
+ * {@link LongAdder} updates, no locks and no allocation. Snapshots are not atomic across buckets.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Percentiles are the highest value of the bucket holding the nearest rank, capped at {@code max}.
+     */
+    public record Snapshot(long count, long sum, long max, long p50, long p90, long p99, long p999) {
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+
+    /** Negative values are counted as zero. */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(index(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public Snapshot snapshot() {
+        var counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long maxValue = max.get();
+        return new Snapshot(total, sum.sum(), maxValue,
+            percentile(counts, total, 50, maxValue),
+            percentile(counts, total, 90, maxValue),
+            percentile(counts, total, 99, maxValue),
+            percentile(counts, total, 99.9, maxValue));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /** Largest value that falls into the bucket. */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >>> SUB_BITS) + SUB_BITS - 1;
+        int shift = exponent - SUB_BITS;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /** Nearest-rank percentile, capped at the recorded maximum. */
+    private static long percentile(long[] counts, long total, double percentile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = IntStatistics.nearestRank(percentile, total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+}
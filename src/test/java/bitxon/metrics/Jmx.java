@@ -0,0 +1,34 @@
+package bitxon.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registration of metrics in the platform MBean server under {@code bitxon.metrics:type=<type>,name=<name>}.
+ */
+final class Jmx {
+
+    static final String DOMAIN = "bitxon.metrics";
+
+    private Jmx() {
+    }
+
+    static ObjectName register(String type, String name, Object mbean) throws JMException {
+        var objectName = objectName(type, name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, objectName);
+        return objectName;
+    }
+
+    static void unregister(String type, String name) throws JMException {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var objectName = objectName(type, name);
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    private static ObjectName objectName(String type, String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,15 @@
+package bitxon.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObjectIntPair<T> {
+    T value1;
+    int value2;
+}
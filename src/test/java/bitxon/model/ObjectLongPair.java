@@ -0,0 +1,15 @@
+package bitxon.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObjectLongPair<T> {
+    T value1;
+    long value2;
+}
@@ -0,0 +1,194 @@
+package bitxon.model.business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * {@link Department} wrapper that keeps per-title salary aggregates (count, sum, min, max) up to date
+ * while employees are added, removed or get a new salary.
+ * <p>
+ * Aggregate queries are O(1) and never rescan employees. Aggregate maintenance costs O(log n) per mutation:
+ * min and max are cached and refreshed from a per-title sorted salary multiset, so removing the current
+ * minimum or maximum does not require a rescan. Only the lookup in the backing list
+ * ({@link #remove}, {@link #changeSalary}) is O(n).
+ * <p>
+ * Employees must be modified through this wrapper: calling {@link Employee#setSalary} or
+ * {@link Employee#setTitle} directly bypasses the aggregates. Not thread safe.
+ */
+public class AggregatingDepartment {
+
+    private final String name;
+    private final List<Employee> employees = new ArrayList<>();
+    private final Map<String, Aggregate> byTitle = new HashMap<>();
+    private final Aggregate total = new Aggregate();
+
+    public AggregatingDepartment(String name) {
+        this.name = name;
+    }
+
+    public static AggregatingDepartment of(Department department) {
+        var result = new AggregatingDepartment(department.getName());
+        if (department.getEmployees() != null) {
+            department.getEmployees().forEach(result::add);
+        }
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Read-only view of the employees. */
+    public List<Employee> getEmployees() {
+        return Collections.unmodifiableList(employees);
+    }
+
+    /** Detached copy as a plain {@link Department}. */
+    public Department toDepartment() {
+        return Department.builder().name(name).employees(List.copyOf(employees)).build();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public void add(Employee employee) {
+        var title = Objects.requireNonNull(employee.getTitle(), "title");
+        employees.add(employee);
+        byTitle.computeIfAbsent(title, key -> new Aggregate()).add(employee.getSalary());
+        total.add(employee.getSalary());
+    }
+
+    /**
+     * Removes the given employee instance, or if absent, one employee equal to it.
+     *
+     * @return {@code false} if there is no such employee
+     */
+    public boolean remove(Employee employee) {
+        int index = indexOfInstance(employee);
+        if (index < 0) {
+            index = employees.indexOf(employee);
+        }
+        if (index < 0) {
+            return false;
+        }
+        employees.remove(index);
+        var aggregate = byTitle.get(employee.getTitle());
+        aggregate.remove(employee.getSalary());
+        if (aggregate.count == 0) {
+            byTitle.remove(employee.getTitle());
+        }
+        total.remove(employee.getSalary());
+        return true;
+    }
+
+    /**
+     * Sets a new salary on an employee of this department.
+     *
+     * @throws IllegalArgumentException if the employee (by identity) does not belong to the department
+     */
+    public void changeSalary(Employee employee, int salary) {
+        if (indexOfInstance(employee) < 0) {
+            throw new IllegalArgumentException("Employee does not belong to department " + name + ": " + employee);
+        }
+        var aggregate = byTitle.get(employee.getTitle());
+        aggregate.remove(employee.getSalary());
+        aggregate.add(salary);
+        total.remove(employee.getSalary());
+        total.add(salary);
+        employee.setSalary(salary);
+    }
+
+    private int indexOfInstance(Employee employee) {
+        for (int i = 0; i < employees.size(); i++) {
+            if (employees.get(i) == employee) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public long count() {
+        return total.count;
+    }
+
+    public long count(String title) {
+        var aggregate = byTitle.get(title);
+        return aggregate == null ? 0 : aggregate.count;
+    }
+
+    /** Department wide statistic, same as {@code summarizingInt(Employee::getSalary)} over all employees. */
+    public IntSummaryStatistics statistic() {
+        return total.toIntSummaryStatistics();
+    }
+
+    /** Empty statistic if there is no employee with the title. */
+    public IntSummaryStatistics statistic(String title) {
+        var aggregate = byTitle.get(title);
+        return aggregate == null ? new IntSummaryStatistics() : aggregate.toIntSummaryStatistics();
+    }
+
+    public Map<String, IntSummaryStatistics> statisticByTitle() {
+        var result = new HashMap<String, IntSummaryStatistics>();
+        byTitle.forEach((title, aggregate) -> result.put(title, aggregate.toIntSummaryStatistics()));
+        return result;
+    }
+
+    public double averageSalary() {
+        return total.average();
+    }
+
+    public double averageSalary(String title) {
+        var aggregate = byTitle.get(title);
+        return aggregate == null ? 0d : aggregate.average();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static class Aggregate {
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        final TreeMap<Integer, Integer> salaries = new TreeMap<>(); // salary -> number of employees
+
+        void add(int salary) {
+            count++;
+            sum += salary;
+            salaries.merge(salary, 1, Integer::sum);
+            min = Math.min(min, salary);
+            max = Math.max(max, salary);
+        }
+
+        void remove(int salary) {
+            count--;
+            sum -= salary;
+            salaries.computeIfPresent(salary, (key, occurrences) -> occurrences == 1 ? null : occurrences - 1);
+            if (salaries.isEmpty()) {
+                min = Integer.MAX_VALUE;
+                max = Integer.MIN_VALUE;
+            } else {
+                if (salary == min) {
+                    min = salaries.firstKey();
+                }
+                if (salary == max) {
+                    max = salaries.lastKey();
+                }
+            }
+        }
+
+        double average() {
+            return count == 0 ? 0d : (double) sum / count;
+        }
+
+        IntSummaryStatistics toIntSummaryStatistics() {
+            return new IntSummaryStatistics(count, min, max, sum);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package bitxon.model.business;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, read-only copy of {@code List<Department>}.
+ * <p>
+ * Employees are stored department by department in two parallel primitive columns:
+ * {@code salaries[i]} and {@code titleIds[i]} (index into the {@code titles} dictionary).
+ * Employees of department {@code d} occupy rows {@code [departmentOffsets[d], departmentOffsets[d + 1])}.
+ * Aggregations are plain loops over these arrays, no boxing and no per-row objects.
+ */
+public final class EmployeeTable {
+
+    private final int[] salaries;
+    private final int[] titleIds;
+    private final String[] titles;
+    private final int[] departmentOffsets;
+    private final String[] departmentNames;
+
+    EmployeeTable(int[] salaries, int[] titleIds, String[] titles, int[] departmentOffsets, String[] departmentNames) {
+        this.salaries = salaries;
+        this.titleIds = titleIds;
+        this.titles = titles;
+        this.departmentOffsets = departmentOffsets;
+        this.departmentNames = departmentNames;
+    }
+
+    public static EmployeeTable from(List<Department> departments) {
+        int rows = 0;
+        for (var department : departments) {
+            rows += employeesOf(department).size();
+        }
+
+        var salaries = new int[rows];
+        var titleIds = new int[rows];
+        var departmentOffsets = new int[departments.size() + 1];
+        var departmentNames = new String[departments.size()];
+        var dictionary = new HashMap<String, Integer>();
+
+        int row = 0;
+        for (int d = 0; d < departments.size(); d++) {
+            var department = departments.get(d);
+            departmentOffsets[d] = row;
+            departmentNames[d] = department.getName();
+            for (var employee : employeesOf(department)) {
+                var title = Objects.requireNonNull(employee.getTitle(), "element cannot be mapped to a null key");
+                salaries[row] = employee.getSalary();
+                titleIds[row] = dictionary.computeIfAbsent(title, key -> dictionary.size());
+                row++;
+            }
+        }
+        departmentOffsets[departments.size()] = row;
+
+        var titles = new String[dictionary.size()];
+        dictionary.forEach((title, id) -> titles[id] = title);
+        return new EmployeeTable(salaries, titleIds, titles, departmentOffsets, departmentNames);
+    }
+
+    private static List<Employee> employeesOf(Department department) {
+        return department.getEmployees() == null ? List.of() : department.getEmployees();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public int size() {
+        return salaries.length;
+    }
+
+    public int titleCount() {
+        return titles.length;
+    }
+
+    public int departmentCount() {
+        return departmentNames.length;
+    }
+
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    public String title(int row) {
+        return titles[titleIds[row]];
+    }
+
+    public int titleId(int row) {
+        return titleIds[row];
+    }
+
+    public String titleById(int titleId) {
+        return titles[titleId];
+    }
+
+    public String departmentName(int department) {
+        return departmentNames[department];
+    }
+
+    /** First row (inclusive) of the department. */
+    public int departmentStart(int department) {
+        return departmentOffsets[department];
+    }
+
+    /** Last row (exclusive) of the department. */
+    public int departmentEnd(int department) {
+        return departmentOffsets[department + 1];
+    }
+
+    public IntStream salaries() {
+        return IntStream.of(salaries);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public Map<String, Double> averageSalaryByTitle() {
+        return toMap(summaryByTitle(), IntSummaryStatistics::getAverage);
+    }
+
+    public Map<String, Integer> minSalaryByTitle() {
+        return toMap(summaryByTitle(), IntSummaryStatistics::getMin);
+    }
+
+    public Map<String, Integer> maxSalaryByTitle() {
+        return toMap(summaryByTitle(), IntSummaryStatistics::getMax);
+    }
+
+    public Map<String, IntSummaryStatistics> statisticSalaryByTitle() {
+        return summaryByTitle();
+    }
+
+    /** Exact average per department: total salary divided by headcount. */
+    public Map<String, Double> averageSalaryByDepartment() {
+        return toMap(summaryByDepartment(), IntSummaryStatistics::getAverage);
+    }
+
+    public Map<String, Integer> minSalaryByDepartment() {
+        return toMap(summaryByDepartment(), IntSummaryStatistics::getMin);
+    }
+
+    public Map<String, Integer> maxSalaryByDepartment() {
+        return toMap(summaryByDepartment(), IntSummaryStatistics::getMax);
+    }
+
+    /**
+     * Departments sharing a name are merged, departments without employees are omitted
+     * (same keys as grouping the flattened employees by department name).
+     */
+    public Map<String, IntSummaryStatistics> statisticSalaryByDepartment() {
+        return summaryByDepartment();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private Map<String, IntSummaryStatistics> summaryByTitle() {
+        var count = new long[titles.length];
+        var sum = new long[titles.length];
+        var min = new int[titles.length];
+        var max = new int[titles.length];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        Arrays.fill(max, Integer.MIN_VALUE);
+
+        for (int row = 0; row < salaries.length; row++) {
+            int title = titleIds[row];
+            int salary = salaries[row];
+            count[title]++;
+            sum[title] += salary;
+            if (salary < min[title]) {
+                min[title] = salary;
+            }
+            if (salary > max[title]) {
+                max[title] = salary;
+            }
+        }
+
+        var result = new HashMap<String, IntSummaryStatistics>();
+        for (int title = 0; title < titles.length; title++) {
+            if (count[title] > 0) {
+                result.put(titles[title], new IntSummaryStatistics(count[title], min[title], max[title], sum[title]));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, IntSummaryStatistics> summaryByDepartment() {
+        var result = new LinkedHashMap<String, IntSummaryStatistics>();
+        for (int d = 0; d < departmentNames.length; d++) {
+            int from = departmentOffsets[d];
+            int to = departmentOffsets[d + 1];
+            if (from == to) {
+                continue;
+            }
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                int salary = salaries[row];
+                sum += salary;
+                if (salary < min) {
+                    min = salary;
+                }
+                if (salary > max) {
+                    max = salary;
+                }
+            }
+            var statistic = new IntSummaryStatistics(to - from, min, max, sum);
+            result.merge(departmentNames[d], statistic, (left, right) -> {
+                left.combine(right);
+                return left;
+            });
+        }
+        return result;
+    }
+
+    private static <T> Map<String, T> toMap(Map<String, IntSummaryStatistics> summaries,
+                                            Function<IntSummaryStatistics, T> value) {
+        var result = new LinkedHashMap<String, T>();
+        summaries.forEach((key, statistic) -> result.put(key, value.apply(statistic)));
+        return result;
+    }
+}
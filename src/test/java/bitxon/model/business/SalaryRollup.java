@@ -0,0 +1,325 @@
+package bitxon.model.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Salary statistics for all grouping sets of department &times; title, {@code ROLLUP}/{@code CUBE} style:
+ * (department, title), (department), (title) and the grand total, from a single pass over employees.
+ * <p>
+ * Departments and titles are dictionary-encoded; statistics (count, sum, min, max) live in dense primitive
+ * arrays indexed by {@code department * (titles + 1) + title}, where code {@code departments} / {@code titles}
+ * stands for "all". The pass touches only (department, title) cells; the other levels are derived from
+ * them afterwards in O(departments &times; titles), so all levels are exact: department averages are total
+ * salary over headcount, not an average of averages. Departments sharing a name are merged.
+ * <p>
+ * Parallel streams build one partial cube per split with its own dictionaries and merge them cell by cell.
+ */
+public final class SalaryRollup {
+
+    private final String[] departments;
+    private final String[] titles;
+    private final Map<String, Integer> departmentCodes;
+    private final Map<String, Integer> titleCodes;
+    private final long[] counts;
+    private final long[] sums;
+    private final int[] mins;
+    private final int[] maxs;
+
+    private SalaryRollup(Cube cube) {
+        this.departments = cube.departments.toArray(String[]::new);
+        this.titles = cube.titles.toArray(String[]::new);
+        this.departmentCodes = Map.copyOf(cube.departmentCodes);
+        this.titleCodes = Map.copyOf(cube.titleCodes);
+        int stride = titles.length + 1;
+        int cells = (departments.length + 1) * stride;
+        this.counts = new long[cells];
+        this.sums = new long[cells];
+        this.mins = new int[cells];
+        this.maxs = new int[cells];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        Arrays.fill(maxs, Integer.MIN_VALUE);
+
+        for (int d = 0; d < departments.length; d++) {
+            for (int t = 0; t < titles.length; t++) {
+                int from = d * cube.titleCapacity + t;
+                if (cube.counts[from] > 0) {
+                    int cell = d * stride + t;
+                    counts[cell] = cube.counts[from];
+                    sums[cell] = cube.sums[from];
+                    mins[cell] = cube.mins[from];
+                    maxs[cell] = cube.maxs[from];
+                    rollUp(cell, d * stride + titles.length);             // (department)
+                    rollUp(cell, departments.length * stride + t);        // (title)
+                    rollUp(cell, departments.length * stride + titles.length); // total
+                }
+            }
+        }
+    }
+
+    /**
+     * Rollup over a stream of departments, parallel streams are supported.
+     */
+    public static Collector<Department, ?, SalaryRollup> rollup() {
+        return Collector.of(
+            Cube::new,
+            Cube::add, // regular stream
+            Cube::merge, // parallel stream
+            SalaryRollup::new,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    public static SalaryRollup of(List<Department> departments) {
+        return departments.parallelStream().collect(rollup());
+    }
+
+    /**
+     * Rollup over an already dictionary-encoded table: title ids are used as codes directly,
+     * no string lookups per row. Departments are processed in parallel.
+     */
+    public static SalaryRollup of(EmployeeTable table) {
+        var cube = IntStream.range(0, table.departmentCount())
+            .parallel()
+            .collect(
+                () -> Cube.withTitles(table),
+                (partial, department) -> partial.add(table, department),
+                Cube::merge
+            );
+        return new SalaryRollup(cube);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public List<String> departments() {
+        return List.of(departments);
+    }
+
+    public List<String> titles() {
+        return List.of(titles);
+    }
+
+    /** Empty statistic if there is no such employee. */
+    public IntSummaryStatistics statistic(String department, String title) {
+        var d = departmentCodes.get(department);
+        var t = titleCodes.get(title);
+        return d == null || t == null ? new IntSummaryStatistics() : statistic(d, t);
+    }
+
+    /** Whole company statistic. */
+    public IntSummaryStatistics total() {
+        return statistic(departments.length, titles.length);
+    }
+
+    public Map<String, IntSummaryStatistics> statisticByDepartment() {
+        var result = new LinkedHashMap<String, IntSummaryStatistics>();
+        for (int d = 0; d < departments.length; d++) {
+            result.put(departments[d], statistic(d, titles.length));
+        }
+        return result;
+    }
+
+    public Map<String, IntSummaryStatistics> statisticByTitle() {
+        var result = new LinkedHashMap<String, IntSummaryStatistics>();
+        for (int t = 0; t < titles.length; t++) {
+            result.put(titles[t], statistic(departments.length, t));
+        }
+        return result;
+    }
+
+    /** Non-empty (department, title) cells. */
+    public Map<String, Map<String, IntSummaryStatistics>> statisticByDepartmentAndTitle() {
+        var result = new LinkedHashMap<String, Map<String, IntSummaryStatistics>>();
+        for (int d = 0; d < departments.length; d++) {
+            var byTitle = new LinkedHashMap<String, IntSummaryStatistics>();
+            for (int t = 0; t < titles.length; t++) {
+                if (counts[cell(d, t)] > 0) {
+                    byTitle.put(titles[t], statistic(d, t));
+                }
+            }
+            result.put(departments[d], byTitle);
+        }
+        return result;
+    }
+
+    /** Exact average per department: total salary divided by headcount. */
+    public Map<String, Double> averageSalaryByDepartment() {
+        return averages(statisticByDepartment());
+    }
+
+    public Map<String, Double> averageSalaryByTitle() {
+        return averages(statisticByTitle());
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryRollup{departments=" + departments.length + ", titles=" + titles.length + ", total=" + total() + "}";
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private int cell(int department, int title) {
+        return department * (titles.length + 1) + title;
+    }
+
+    private IntSummaryStatistics statistic(int department, int title) {
+        int cell = cell(department, title);
+        return counts[cell] == 0
+            ? new IntSummaryStatistics()
+            : new IntSummaryStatistics(counts[cell], mins[cell], maxs[cell], sums[cell]);
+    }
+
+    private void rollUp(int from, int to) {
+        counts[to] += counts[from];
+        sums[to] += sums[from];
+        mins[to] = Math.min(mins[to], mins[from]);
+        maxs[to] = Math.max(maxs[to], maxs[from]);
+    }
+
+    private static Map<String, Double> averages(Map<String, IntSummaryStatistics> statistics) {
+        var result = new LinkedHashMap<String, Double>();
+        statistics.forEach((key, statistic) -> result.put(key, statistic.getAverage()));
+        return result;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Growable partial cube of (department, title) cells, row-major with {@code titleCapacity} columns.
+     */
+    private static final class Cube {
+        final Map<String, Integer> departmentCodes = new HashMap<>();
+        final Map<String, Integer> titleCodes = new HashMap<>();
+        final List<String> departments = new ArrayList<>();
+        final List<String> titles = new ArrayList<>();
+        int departmentCapacity = 4;
+        int titleCapacity = 4;
+        long[] counts = new long[departmentCapacity * titleCapacity];
+        long[] sums = new long[counts.length];
+        int[] mins = filled(counts.length, Integer.MAX_VALUE);
+        int[] maxs = filled(counts.length, Integer.MIN_VALUE);
+
+        /** Titles in table id order, so that table title ids are cube codes. */
+        static Cube withTitles(EmployeeTable table) {
+            var cube = new Cube();
+            for (int t = 0; t < table.titleCount(); t++) {
+                cube.title(table.titleById(t));
+            }
+            return cube;
+        }
+
+        void add(Department department) {
+            var employees = department.getEmployees();
+            if (employees == null || employees.isEmpty()) {
+                return;
+            }
+            int d = department(Objects.requireNonNull(department.getName(), "element cannot be mapped to a null key"));
+            for (var employee : employees) {
+                int t = title(Objects.requireNonNull(employee.getTitle(), "element cannot be mapped to a null key"));
+                add(d * titleCapacity + t, employee.getSalary()); // a new title may widen the rows
+            }
+        }
+
+        void add(EmployeeTable table, int department) {
+            int from = table.departmentStart(department);
+            int to = table.departmentEnd(department);
+            if (from == to) {
+                return;
+            }
+            int row = department(Objects.requireNonNull(table.departmentName(department),
+                "element cannot be mapped to a null key")) * titleCapacity;
+            for (int r = from; r < to; r++) {
+                add(row + table.titleId(r), table.salary(r)); // all titles are known up front
+            }
+        }
+
+        void add(int cell, int salary) {
+            counts[cell]++;
+            sums[cell] += salary;
+            if (salary < mins[cell]) {
+                mins[cell] = salary;
+            }
+            if (salary > maxs[cell]) {
+                maxs[cell] = salary;
+            }
+        }
+
+        Cube merge(Cube other) {
+            for (int d = 0; d < other.departments.size(); d++) {
+                for (int t = 0; t < other.titles.size(); t++) {
+                    int from = d * other.titleCapacity + t;
+                    if (other.counts[from] == 0) {
+                        continue;
+                    }
+                    int column = title(other.titles.get(t));
+                    int cell = department(other.departments.get(d)) * titleCapacity + column;
+                    counts[cell] += other.counts[from];
+                    sums[cell] += other.sums[from];
+                    mins[cell] = Math.min(mins[cell], other.mins[from]);
+                    maxs[cell] = Math.max(maxs[cell], other.maxs[from]);
+                }
+            }
+            return this;
+        }
+
+        int department(String name) {
+            var code = departmentCodes.get(name);
+            if (code != null) {
+                return code;
+            }
+            if (departments.size() == departmentCapacity) {
+                resize(departmentCapacity * 2, titleCapacity);
+            }
+            departments.add(name);
+            departmentCodes.put(name, departments.size() - 1);
+            return departments.size() - 1;
+        }
+
+        int title(String title) {
+            var code = titleCodes.get(title);
+            if (code != null) {
+                return code;
+            }
+            if (titles.size() == titleCapacity) {
+                resize(departmentCapacity, titleCapacity * 2);
+            }
+            titles.add(title);
+            titleCodes.put(title, titles.size() - 1);
+            return titles.size() - 1;
+        }
+
+        private void resize(int newDepartmentCapacity, int newTitleCapacity) {
+            int cells = Math.multiplyExact(newDepartmentCapacity, newTitleCapacity);
+            var newCounts = new long[cells];
+            var newSums = new long[cells];
+            var newMins = filled(cells, Integer.MAX_VALUE);
+            var newMaxs = filled(cells, Integer.MIN_VALUE);
+            for (int d = 0; d < departments.size(); d++) {
+                System.arraycopy(counts, d * titleCapacity, newCounts, d * newTitleCapacity, titles.size());
+                System.arraycopy(sums, d * titleCapacity, newSums, d * newTitleCapacity, titles.size());
+                System.arraycopy(mins, d * titleCapacity, newMins, d * newTitleCapacity, titles.size());
+                System.arraycopy(maxs, d * titleCapacity, newMaxs, d * newTitleCapacity, titles.size());
+            }
+            departmentCapacity = newDepartmentCapacity;
+            titleCapacity = newTitleCapacity;
+            counts = newCounts;
+            sums = newSums;
+            mins = newMins;
+            maxs = newMaxs;
+        }
+
+        private static int[] filled(int length, int value) {
+            var array = new int[length];
+            Arrays.fill(array, value);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package bitxon.model.structure.tree;
+
+/**
+ * Immutable AVL tree node: {@link Node} plus subtree height for balancing.
+ */
+public record AvlNode(
+    AvlNode left,
+    AvlNode right,
+    int data,
+    int height
+) {
+
+    static AvlNode of(AvlNode left, int data, AvlNode right) {
+        return new AvlNode(left, right, data, 1 + Math.max(height(left), height(right)));
+    }
+
+    static int height(AvlNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    public Node toNode() {
+        return Node.builder()
+            .data(data)
+            .left(left == null ? null : left.toNode())
+            .right(right == null ? null : right.toNode())
+            .build();
+    }
+}
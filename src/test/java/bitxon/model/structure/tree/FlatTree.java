@@ -0,0 +1,360 @@
+package bitxon.model.structure.tree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Node} tree stored as flat arrays in level (BFS) order, no pointers.
+ * <p>
+ * {@code values[k]} is the data of the k-th node in level order. Tree shape is kept in a succinct bitmap with
+ * two bits per node (has left child, has right child) plus a rank directory: the child of node {@code k} behind
+ * bit {@code b} has index {@code rank1(b) + 1}, where {@code rank1} counts set bits before {@code b} in O(1).
+ * This handles any shape in about {@code 4n + n/4} bytes besides the values.
+ * <p>
+ * When the tree is complete (all levels full except the last, which is filled from the left) the layout is
+ * exactly the Eytzinger layout: children of {@code k} are {@code 2k + 1} and {@code 2k + 2}. Such trees use
+ * plain index arithmetic and a branch-free binary search ({@link #lowerBound}).
+ * <p>
+ * Level order is a sequential scan of {@code values}. Depth-first orders use an explicit {@code int[]} stack,
+ * memory is O(height). Supports up to {@code 2^30} nodes.
+ */
+public final class FlatTree {
+
+    private static final int MAX_SIZE = 1 << 30;
+
+    private final int[] values;
+    private final long[] childBits; // bit 2k: node k has left child, bit 2k + 1: node k has right child
+    private final int[] ranks;      // ranks[w]: number of set bits in childBits[0 .. w)
+    private final boolean complete;
+
+    private FlatTree(int[] values, long[] childBits) {
+        this.values = values;
+        this.childBits = childBits;
+        this.ranks = new int[childBits.length];
+        for (int w = 1; w < childBits.length; w++) {
+            ranks[w] = ranks[w - 1] + Long.bitCount(childBits[w - 1]);
+        }
+        this.complete = isComplete(childBits, values.length);
+    }
+
+    /**
+     * Converts a pointer tree, O(n).
+     */
+    public static FlatTree of(Node root) {
+        if (root == null) {
+            return new FlatTree(new int[0], new long[0]);
+        }
+        var nodes = new Node[16];
+        var bits = new long[1];
+        nodes[0] = root;
+        int size = 1;
+        for (int k = 0; k < size; k++) {
+            var node = nodes[k];
+            if (size + 2 > nodes.length) {
+                if (nodes.length >= MAX_SIZE) {
+                    throw new IllegalArgumentException("Tree is too large, max size is " + MAX_SIZE);
+                }
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                bits = Arrays.copyOf(bits, Math.max(bits.length, nodes.length / 32 + 1));
+            }
+            if (node.left() != null) {
+                bits[(2 * k) >>> 6] |= 1L << (2 * k);
+                nodes[size++] = node.left();
+            }
+            if (node.right() != null) {
+                bits[(2 * k + 1) >>> 6] |= 1L << (2 * k + 1);
+                nodes[size++] = node.right();
+            }
+        }
+        var values = new int[size];
+        for (int k = 0; k < size; k++) {
+            values[k] = nodes[k].data();
+        }
+        return new FlatTree(values, Arrays.copyOf(bits, words(size)));
+    }
+
+    /**
+     * Builds a complete binary search tree (Eytzinger layout) from sorted values, O(n).
+     */
+    public static FlatTree fromSorted(int[] sorted) {
+        if (sorted.length > MAX_SIZE) {
+            throw new IllegalArgumentException("Tree is too large, max size is " + MAX_SIZE);
+        }
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("Values are not sorted at index " + i);
+            }
+        }
+        int n = sorted.length;
+        var values = new int[n];
+        fillEytzinger(sorted, values, 1, 0);
+        var bits = new long[words(n)];
+        for (int bit = 0; bit < n - 1; bit++) { // in a complete tree exactly the first n - 1 child slots are used
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        return new FlatTree(values, bits);
+    }
+
+    /** In-order fill of 1-based Eytzinger positions, recursion depth is log2(n). */
+    private static int fillEytzinger(int[] sorted, int[] values, int k, int next) {
+        if (k <= values.length) {
+            next = fillEytzinger(sorted, values, 2 * k, next);
+            values[k - 1] = sorted[next++];
+            next = fillEytzinger(sorted, values, 2 * k + 1, next);
+        }
+        return next;
+    }
+
+    /**
+     * Converts back to a pointer tree, O(n). Children always have greater indices than their parent,
+     * so nodes are created from the last index to the first.
+     */
+    public Node toNode() {
+        if (values.length == 0) {
+            return null;
+        }
+        var nodes = new Node[values.length];
+        for (int k = values.length - 1; k >= 0; k--) {
+            int left = left(k);
+            int right = right(k);
+            nodes[k] = Node.builder()
+                .data(values[k])
+                .left(left < 0 ? null : nodes[left])
+                .right(right < 0 ? null : nodes[right])
+                .build();
+        }
+        return nodes[0];
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Data of the node with given level-order index. */
+    public int value(int index) {
+        return values[index];
+    }
+
+    /** Level-order index of the left child, {@code -1} if absent. */
+    public int left(int index) {
+        int bit = 2 * index;
+        if (complete) {
+            return bit + 1 < values.length ? bit + 1 : -1;
+        }
+        return hasBit(bit) ? rank1(bit) + 1 : -1;
+    }
+
+    /** Level-order index of the right child, {@code -1} if absent. */
+    public int right(int index) {
+        int bit = 2 * index + 1;
+        if (complete) {
+            return bit + 1 < values.length ? bit + 1 : -1;
+        }
+        return hasBit(bit) ? rank1(bit) + 1 : -1;
+    }
+
+    private boolean hasBit(int bit) {
+        return (childBits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private int rank1(int bit) {
+        return ranks[bit >>> 6] + Long.bitCount(childBits[bit >>> 6] & ((1L << bit) - 1));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Index of the smallest value {@code >= key}, {@code -1} if there is none.
+     * Requires binary search tree ordering (in-order traversal is sorted).
+     * Complete trees use a branch-free descent over Eytzinger positions.
+     */
+    public int lowerBound(int key) {
+        if (complete) {
+            int n = values.length;
+            int k = 1; // 1-based position
+            while (k <= n) {
+                // values[k - 1] < key ? 1 : 0 without a branch and without int overflow
+                k = 2 * k + (int) (((long) values[k - 1] - key) >>> 63);
+            }
+            // drop the trailing "went right" moves and the last "went left" move
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k - 1;
+        }
+        int result = -1;
+        int k = values.length == 0 ? -1 : 0;
+        while (k >= 0) {
+            if (values[k] < key) {
+                k = right(k);
+            } else {
+                result = k;
+                k = left(k);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Requires binary search tree ordering.
+     */
+    public boolean contains(int key) {
+        int index = lowerBound(key);
+        return index >= 0 && values[index] == key;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public IntStream stream(NodeTraversal.Order order) {
+        if (order == NodeTraversal.Order.LEVEL_ORDER) {
+            return IntStream.of(values);
+        }
+        var spliterator = Spliterators.spliterator(
+            iterator(order), values.length, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    public PrimitiveIterator.OfInt iterator(NodeTraversal.Order order) {
+        return switch (order) {
+            case PRE_ORDER -> new PreOrderIterator();
+            case IN_ORDER -> new InOrderIterator();
+            case POST_ORDER -> new PostOrderIterator();
+            case LEVEL_ORDER -> Arrays.stream(values).iterator();
+        };
+    }
+
+    private abstract class StackIterator implements PrimitiveIterator.OfInt {
+        private int[] stack = new int[32];
+        private int size;
+
+        void push(int index) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = index;
+        }
+
+        int pop() {
+            return stack[--size];
+        }
+
+        int peek() {
+            return stack[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return values[nextIndex()];
+        }
+
+        abstract int nextIndex();
+    }
+
+    private final class PreOrderIterator extends StackIterator {
+        PreOrderIterator() {
+            if (values.length > 0) {
+                push(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !isEmpty();
+        }
+
+        @Override
+        int nextIndex() {
+            int k = pop();
+            int right = right(k);
+            if (right >= 0) {
+                push(right);
+            }
+            int left = left(k);
+            if (left >= 0) {
+                push(left);
+            }
+            return k;
+        }
+    }
+
+    private final class InOrderIterator extends StackIterator {
+        private int current = values.length > 0 ? 0 : -1;
+
+        @Override
+        public boolean hasNext() {
+            return current >= 0 || !isEmpty();
+        }
+
+        @Override
+        int nextIndex() {
+            while (current >= 0) {
+                push(current);
+                current = left(current);
+            }
+            int k = pop();
+            current = right(k);
+            return k;
+        }
+    }
+
+    private final class PostOrderIterator extends StackIterator {
+        private int current = values.length > 0 ? 0 : -1;
+        private int lastVisited = -1;
+
+        @Override
+        public boolean hasNext() {
+            return current >= 0 || !isEmpty();
+        }
+
+        @Override
+        int nextIndex() {
+            while (true) {
+                while (current >= 0) {
+                    push(current);
+                    current = left(current);
+                }
+                int top = peek();
+                int right = right(top);
+                if (right >= 0 && right != lastVisited) {
+                    current = right;
+                } else {
+                    lastVisited = pop();
+                    return top;
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static int words(int nodes) {
+        return (int) ((2L * nodes + 63) >>> 6);
+    }
+
+    /** Complete iff exactly the first {@code n - 1} child slots are used. */
+    private static boolean isComplete(long[] bits, int n) {
+        for (int bit = 0; bit < 2 * n; bit++) {
+            boolean expected = bit < n - 1;
+            if (((bits[bit >>> 6] & (1L << bit)) != 0) != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,229 @@
+package bitxon.model.structure.tree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy, non-recursive traversals of a {@link Node} tree.
+ * <p>
+ * Depth-first orders use an explicit array-backed stack of nodes, so memory is O(height) and degenerate trees
+ * with millions of levels do not throw {@link StackOverflowError}. Level order uses an array-backed circular queue,
+ * memory is O(width). No per-node allocations besides occasional array growth; values are produced on demand,
+ * so consumers can stop early (e.g. {@code preorder(root).limit(10)}).
+ * <p>
+ * Morris threading is not applicable: {@link Node} is an immutable record and its links cannot be rewired.
+ */
+public final class NodeTraversal {
+
+    public enum Order {
+        PRE_ORDER, IN_ORDER, POST_ORDER, LEVEL_ORDER
+    }
+
+    private NodeTraversal() {
+    }
+
+    public static IntStream preorder(Node root) {
+        return stream(root, Order.PRE_ORDER);
+    }
+
+    public static IntStream inorder(Node root) {
+        return stream(root, Order.IN_ORDER);
+    }
+
+    public static IntStream postorder(Node root) {
+        return stream(root, Order.POST_ORDER);
+    }
+
+    public static IntStream levelOrder(Node root) {
+        return stream(root, Order.LEVEL_ORDER);
+    }
+
+    public static IntStream stream(Node root, Order order) {
+        var spliterator = Spliterators.spliteratorUnknownSize(
+            iterator(root, order), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    public static PrimitiveIterator.OfInt iterator(Node root, Order order) {
+        return switch (order) {
+            case PRE_ORDER -> new PreOrderIterator(root);
+            case IN_ORDER -> new InOrderIterator(root);
+            case POST_ORDER -> new PostOrderIterator(root);
+            case LEVEL_ORDER -> new LevelOrderIterator(root);
+        };
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static final class PreOrderIterator implements PrimitiveIterator.OfInt {
+        private final NodeStack stack = new NodeStack();
+
+        PreOrderIterator(Node root) {
+            if (root != null) {
+                stack.push(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            var node = stack.pop();
+            if (node.right() != null) {
+                stack.push(node.right());
+            }
+            if (node.left() != null) {
+                stack.push(node.left());
+            }
+            return node.data();
+        }
+    }
+
+    private static final class InOrderIterator implements PrimitiveIterator.OfInt {
+        private final NodeStack stack = new NodeStack();
+        private Node current;
+
+        InOrderIterator(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (current != null) {
+                stack.push(current);
+                current = current.left();
+            }
+            var node = stack.pop();
+            current = node.right();
+            return node.data();
+        }
+    }
+
+    private static final class PostOrderIterator implements PrimitiveIterator.OfInt {
+        private final NodeStack stack = new NodeStack();
+        private Node current;
+        private Node lastVisited;
+
+        PostOrderIterator(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (true) {
+                while (current != null) {
+                    stack.push(current);
+                    current = current.left();
+                }
+                var top = stack.peek();
+                if (top.right() != null && top.right() != lastVisited) {
+                    current = top.right();
+                } else {
+                    lastVisited = stack.pop();
+                    return top.data();
+                }
+            }
+        }
+    }
+
+    private static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private Node[] queue = new Node[16];
+        private int head;
+        private int size;
+
+        LevelOrderIterator(Node root) {
+            if (root != null) {
+                enqueue(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            var node = queue[head];
+            queue[head] = null;
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            if (node.left() != null) {
+                enqueue(node.left());
+            }
+            if (node.right() != null) {
+                enqueue(node.right());
+            }
+            return node.data();
+        }
+
+        private void enqueue(Node node) {
+            if (size == queue.length) {
+                var grown = new Node[queue.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = queue[(head + i) & (queue.length - 1)];
+                }
+                queue = grown;
+                head = 0;
+            }
+            queue[(head + size) & (queue.length - 1)] = node;
+            size++;
+        }
+    }
+
+    private static final class NodeStack {
+        private Node[] nodes = new Node[16];
+        private int size;
+
+        void push(Node node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            nodes[size++] = node;
+        }
+
+        Node pop() {
+            var node = nodes[--size];
+            nodes[size] = null;
+            return node;
+        }
+
+        Node peek() {
+            return nodes[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package bitxon.model.structure.tree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent (immutable) sorted set of ints backed by an AVL tree.
+ * <p>
+ * {@link #insert} and {@link #delete} are O(log n) and return a new version that shares all untouched subtrees
+ * with the old one (path copying): only the O(log n) nodes on the search path are copied. Old versions stay valid
+ * forever, so readers can hold a snapshot without locks while writers publish new versions, e.g. through
+ * {@code AtomicReference<PersistentAvlTree>.updateAndGet(tree -> tree.insert(key))}.
+ */
+public final class PersistentAvlTree {
+
+    private static final PersistentAvlTree EMPTY = new PersistentAvlTree(null, 0);
+
+    private final AvlNode root;
+    private final int size;
+
+    private PersistentAvlTree(AvlNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static PersistentAvlTree empty() {
+        return EMPTY;
+    }
+
+    public static PersistentAvlTree of(int... values) {
+        var tree = EMPTY;
+        for (int value : values) {
+            tree = tree.insert(value);
+        }
+        return tree;
+    }
+
+    /**
+     * Bulk build in O(n) from strictly increasing values. The result is perfectly balanced.
+     */
+    public static PersistentAvlTree fromSorted(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i]) {
+                throw new IllegalArgumentException("Values are not strictly increasing at index " + i);
+            }
+        }
+        return new PersistentAvlTree(build(sorted, 0, sorted.length), sorted.length);
+    }
+
+    private static AvlNode build(int[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return AvlNode.of(build(sorted, from, middle), sorted[middle], build(sorted, middle + 1, to));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int height() {
+        return AvlNode.height(root);
+    }
+
+    public AvlNode root() {
+        return root;
+    }
+
+    public boolean contains(int value) {
+        var node = root;
+        while (node != null) {
+            if (value == node.data()) {
+                return true;
+            }
+            node = value < node.data() ? node.left() : node.right();
+        }
+        return false;
+    }
+
+    public int min() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        var node = root;
+        while (node.left() != null) {
+            node = node.left();
+        }
+        return node.data();
+    }
+
+    public int max() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        var node = root;
+        while (node.right() != null) {
+            node = node.right();
+        }
+        return node.data();
+    }
+
+    /**
+     * @return new version with the value, or this version if the value is already present
+     */
+    public PersistentAvlTree insert(int value) {
+        var newRoot = insert(root, value);
+        return newRoot == root ? this : new PersistentAvlTree(newRoot, size + 1);
+    }
+
+    /**
+     * @return new version without the value, or this version if the value is absent
+     */
+    public PersistentAvlTree delete(int value) {
+        var newRoot = delete(root, value);
+        return newRoot == root ? this : new PersistentAvlTree(newRoot, size - 1);
+    }
+
+    /** Values in ascending order. */
+    public IntStream stream() {
+        var spliterator = Spliterators.spliterator(new InOrderIterator(root), size,
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    /** Copy as a plain {@link Node} tree (same shape), e.g. for {@link NodeTraversal}. */
+    public Node toNode() {
+        return root == null ? null : root.toNode();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(stream().toArray());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static AvlNode insert(AvlNode node, int value) {
+        if (node == null) {
+            return AvlNode.of(null, value, null);
+        }
+        if (value < node.data()) {
+            var left = insert(node.left(), value);
+            return left == node.left() ? node : balance(left, node.data(), node.right());
+        }
+        if (value > node.data()) {
+            var right = insert(node.right(), value);
+            return right == node.right() ? node : balance(node.left(), node.data(), right);
+        }
+        return node;
+    }
+
+    private static AvlNode delete(AvlNode node, int value) {
+        if (node == null) {
+            return null;
+        }
+        if (value < node.data()) {
+            var left = delete(node.left(), value);
+            return left == node.left() ? node : balance(left, node.data(), node.right());
+        }
+        if (value > node.data()) {
+            var right = delete(node.right(), value);
+            return right == node.right() ? node : balance(node.left(), node.data(), right);
+        }
+        if (node.left() == null) {
+            return node.right();
+        }
+        if (node.right() == null) {
+            return node.left();
+        }
+        var successor = node.right();
+        while (successor.left() != null) {
+            successor = successor.left();
+        }
+        return balance(node.left(), successor.data(), delete(node.right(), successor.data()));
+    }
+
+    /**
+     * Creates a node whose subtrees differ in height by at most 2 and rotates it back into AVL shape.
+     */
+    private static AvlNode balance(AvlNode left, int data, AvlNode right) {
+        int difference = AvlNode.height(left) - AvlNode.height(right);
+        if (difference > 1) {
+            if (AvlNode.height(left.left()) >= AvlNode.height(left.right())) {
+                return rotateRight(left, data, right);
+            }
+            var pivot = rotateLeft(left.left(), left.data(), left.right());
+            return rotateRight(pivot, data, right);
+        }
+        if (difference < -1) {
+            if (AvlNode.height(right.right()) >= AvlNode.height(right.left())) {
+                return rotateLeft(left, data, right);
+            }
+            var pivot = rotateRight(right.left(), right.data(), right.right());
+            return rotateLeft(left, data, pivot);
+        }
+        return AvlNode.of(left, data, right);
+    }
+
+    private static AvlNode rotateRight(AvlNode left, int data, AvlNode right) {
+        return AvlNode.of(left.left(), left.data(), AvlNode.of(left.right(), data, right));
+    }
+
+    private static AvlNode rotateLeft(AvlNode left, int data, AvlNode right) {
+        return AvlNode.of(AvlNode.of(left, data, right.left()), right.data(), right.right());
+    }
+
+    private static final class InOrderIterator implements PrimitiveIterator.OfInt {
+        private final AvlNode[] stack;
+        private int size;
+        private AvlNode current;
+
+        InOrderIterator(AvlNode root) {
+            this.stack = new AvlNode[AvlNode.height(root)];
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || size > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (current != null) {
+                stack[size++] = current;
+                current = current.left();
+            }
+            var node = stack[--size];
+            current = node.right();
+            return node.data();
+        }
+    }
+}
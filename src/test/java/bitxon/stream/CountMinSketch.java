@@ -0,0 +1,255 @@
+package bitxon.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * Count-Min sketch (Cormode and Muthukrishnan) with conservative update, plus a fixed number of heavy hitter
+ * candidates kept in a min-heap by estimated count.
+ * <p>
+ * {@code depth = ceil(ln(1 / delta))} rows of {@code width >= e / epsilon} counters (rounded up to a power of two),
+ * memory is {@code 8 * depth * width} bytes regardless of the number of distinct items. After {@code n} offered
+ * occurrences, for every item:
+ * <ul>
+ *     <li>the estimate never underestimates the true frequency</li>
+ *     <li>with probability {@code >= 1 - delta} it overestimates by at most {@code epsilon * n}</li>
+ * </ul>
+ * Row indexes are derived from {@link Object#hashCode()}, so items with equal hash codes always share counters.
+ * <p>
+ * Sketches with the same {@code epsilon} and {@code delta} merge exactly by adding counters. Candidates are merged
+ * by re-estimating the union of both candidate sets; an item that was not a candidate in any part can be missed.
+ * <p>
+ * Thread safe: public methods synchronize on the instance. The {@link #heavyHitters} collector confines every
+ * container to one thread and skips locking.
+ */
+public class CountMinSketch<T> {
+
+    public static final double DEFAULT_EPSILON = 0.001;
+    public static final double DEFAULT_DELTA = 0.01;
+
+    private final double epsilon;
+    private final double delta;
+    private final int depth;
+    private final int mask; // width - 1
+    private final long[] counters; // depth rows one after another
+    private final int candidateCapacity;
+    private CounterHeap<T> candidates;
+    private long count;
+
+    public CountMinSketch(int candidates) {
+        this(DEFAULT_EPSILON, DEFAULT_DELTA, candidates);
+    }
+
+    /**
+     * @param epsilon    relative error, in range {@code (0, 1)}
+     * @param delta      probability to exceed the error, in range {@code (0, 1)}
+     * @param candidates number of heavy hitters to track, may be zero
+     */
+    public CountMinSketch(double epsilon, double delta, int candidates) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be in range (0, 1): " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Delta must be in range (0, 1): " + delta);
+        }
+        if (candidates < 0) {
+            throw new IllegalArgumentException("Number of candidates must not be negative: " + candidates);
+        }
+        int width = Integer.highestOneBit((int) Math.ceil(Math.E / epsilon) - 1) << 1;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.mask = width - 1;
+        this.counters = new long[Math.multiplyExact(depth, width)];
+        this.candidateCapacity = candidates;
+        this.candidates = new CounterHeap<>(candidates);
+    }
+
+    public static <T> Collector<T, ?, CountMinSketch<T>> heavyHitters(int candidates) {
+        return heavyHitters(DEFAULT_EPSILON, DEFAULT_DELTA, candidates);
+    }
+
+    public static <T> Collector<T, ?, CountMinSketch<T>> heavyHitters(double epsilon, double delta, int candidates) {
+        return Collector.of(
+            () -> new CountMinSketch<T>(epsilon, delta, candidates),
+            (result, item) -> result.add(item, 1), // regular stream
+            CountMinSketch::merge, // parallel stream
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    public synchronized void offer(T item) {
+        add(item, 1);
+    }
+
+    public synchronized void offer(T item, long occurrences) {
+        if (occurrences < 1) {
+            throw new IllegalArgumentException("Occurrences must be positive: " + occurrences);
+        }
+        add(item, occurrences);
+    }
+
+    /**
+     * Conservative update: counters are raised only up to the new estimate, never past it.
+     */
+    private void add(T item, long occurrences) {
+        Objects.requireNonNull(item, "item");
+        count += occurrences;
+        long hash = hash(item);
+        long estimate = estimate(hash) + occurrences;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            counters[index] = Math.max(counters[index], estimate);
+        }
+        offerCandidate(item, estimate);
+    }
+
+    private void offerCandidate(T item, long estimate) {
+        if (candidateCapacity == 0) {
+            return;
+        }
+        int slot = candidates.indexOf(item);
+        if (slot >= 0) {
+            candidates.increment(slot, estimate - candidates.count(slot));
+        } else if (!candidates.isFull()) {
+            candidates.add(item, estimate, 0);
+        } else if (estimate > candidates.minCount()) {
+            candidates.replaceMin(item, estimate, 0);
+        }
+    }
+
+    /**
+     * Adds all occurrences counted by {@code other} to this sketch.
+     *
+     * @return this sketch
+     * @throws IllegalArgumentException if sketches have different dimensions or number of candidates
+     */
+    public CountMinSketch<T> merge(CountMinSketch<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge sketch with itself");
+        }
+        long[] otherCounters;
+        List<FrequencyEstimate<T>> otherCandidates;
+        long otherCount;
+        synchronized (other) {
+            if (depth != other.depth || mask != other.mask || candidateCapacity != other.candidateCapacity) {
+                throw new IllegalArgumentException("Cannot merge sketches of different dimensions: "
+                    + this + " and " + other);
+            }
+            otherCounters = other.counters.clone();
+            otherCandidates = other.candidates.toSortedList();
+            otherCount = other.count;
+        }
+        synchronized (this) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] += otherCounters[i];
+            }
+            count += otherCount;
+
+            var items = new LinkedHashSet<T>();
+            candidates.toSortedList().forEach(estimate -> items.add(estimate.item()));
+            otherCandidates.forEach(estimate -> items.add(estimate.item()));
+            var estimates = new ArrayList<FrequencyEstimate<T>>(items.size());
+            for (var item : items) {
+                estimates.add(new FrequencyEstimate<>(item, estimate(hash(item)), 0));
+            }
+            estimates.sort(Comparator.comparingLong(FrequencyEstimate<T>::count).reversed());
+            candidates = new CounterHeap<>(candidateCapacity);
+            estimates.stream()
+                .limit(candidateCapacity)
+                .forEach(estimate -> candidates.add(estimate.item(), estimate.count(), 0));
+            return this;
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return mask + 1;
+    }
+
+    /** Number of offered occurrences. */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /** {@code epsilon * getCount()}, exceeded by an estimate with probability at most {@code delta}. */
+    public synchronized long getMaxError() {
+        return maxError();
+    }
+
+    /**
+     * Estimate of a single item, its error is {@link #getMaxError} capped by the count.
+     */
+    public synchronized FrequencyEstimate<T> estimate(T item) {
+        long estimate = estimate(hash(Objects.requireNonNull(item, "item")));
+        return new FrequencyEstimate<>(item, estimate, Math.min(estimate, maxError()));
+    }
+
+    /**
+     * Up to {@code n} heavy hitter candidates with the greatest estimates, greatest first.
+     */
+    public synchronized List<FrequencyEstimate<T>> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        long maxError = maxError();
+        return candidates.toSortedList().stream()
+            .limit(n)
+            .map(estimate -> new FrequencyEstimate<>(
+                estimate.item(), estimate.count(), Math.min(estimate.count(), maxError)))
+            .toList();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s{count=%d, epsilon=%s, delta=%s, depth=%d, width=%d, candidates=%d}",
+            getClass().getSimpleName(), count, epsilon, delta, depth, mask + 1, candidates.size());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private long maxError() {
+        return (long) Math.ceil(epsilon * count);
+    }
+
+    private long estimate(long hash) {
+        long result = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            result = Math.min(result, counters[index(hash, row)]);
+        }
+        return result;
+    }
+
+    /** Row indexes {@code h1 + row * h2} from the two halves of one mixed hash (Kirsch and Mitzenmacher). */
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    /** SplitMix64 finalizer of the hash code. */
+    private static long hash(Object item) {
+        long hash = item.hashCode() * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,134 @@
+package bitxon.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-capacity indexed min-heap of counters ordered by count, shared by {@link SpaceSaving} and
+ * {@link CountMinSketch}. Lookup by item is O(1), count updates and replacement of the minimum are O(log k).
+ * Counts only grow, so updates sift down only.
+ */
+final class CounterHeap<T> {
+
+    private final Map<T, Integer> index;
+    private final Object[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+
+    CounterHeap(int capacity) {
+        this.index = new HashMap<>(Math.max(16, capacity * 2));
+        this.items = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == items.length;
+    }
+
+    /** Heap slot of the item, {@code -1} if absent. */
+    int indexOf(T item) {
+        return index.getOrDefault(item, -1);
+    }
+
+    long count(int slot) {
+        return counts[slot];
+    }
+
+    long minCount() {
+        return counts[0];
+    }
+
+    void add(T item, long count, long error) {
+        items[size] = item;
+        counts[size] = count;
+        errors[size] = error;
+        index.put(item, size);
+        siftUp(size++);
+    }
+
+    void replaceMin(T item, long count, long error) {
+        index.remove(item(0));
+        items[0] = item;
+        counts[0] = count;
+        errors[0] = error;
+        index.put(item, 0);
+        siftDown(0);
+    }
+
+    void increment(int slot, long by) {
+        counts[slot] += by;
+        siftDown(slot);
+    }
+
+    FrequencyEstimate<T> estimate(int slot) {
+        return new FrequencyEstimate<>(item(slot), counts[slot], errors[slot]);
+    }
+
+    /** All counters, greatest count first, ties by smaller error. */
+    List<FrequencyEstimate<T>> toSortedList() {
+        var result = new ArrayList<FrequencyEstimate<T>>(size);
+        for (int slot = 0; slot < size; slot++) {
+            result.add(estimate(slot));
+        }
+        result.sort(Comparator.comparingLong(FrequencyEstimate<T>::count).reversed()
+            .thenComparingLong(FrequencyEstimate::error));
+        return result;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (counts[slot] >= counts[parent]) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int left = 2 * slot + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && counts[right] < counts[left] ? right : left;
+            if (counts[smallest] >= counts[slot]) {
+                return;
+            }
+            swap(slot, smallest);
+            slot = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        var item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        var count = counts[i];
+        counts[i] = counts[j];
+        counts[j] = count;
+        var error = errors[i];
+        errors[i] = errors[j];
+        errors[j] = error;
+        index.put(item(i), i);
+        index.put(item(j), j);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int slot) {
+        return (T) items[slot];
+    }
+}
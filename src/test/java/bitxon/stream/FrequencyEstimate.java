@@ -0,0 +1,15 @@
+package bitxon.stream;
+
+/**
+ * Approximate frequency of an item: the true frequency is in {@code [count - error, count]}.
+ *
+ * @param count upper bound of the true frequency
+ * @param error maximal overestimation
+ */
+public record FrequencyEstimate<T>(T item, long count, long error) {
+
+    /** Guaranteed minimal frequency. */
+    public long lowerBound() {
+        return count - error;
+    }
+}
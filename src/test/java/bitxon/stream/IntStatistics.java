@@ -0,0 +1,182 @@
+package bitxon.stream;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Extended version of {@link IntSummaryStatistics}: count, sum, min, max, mean, variance and exact percentiles
+ * collected in a single pass.
+ * <p>
+ * Mean and variance are maintained with Welford's algorithm and merged with Chan's formula, so {@link #combine}
+ * is exact and parallel streams produce the same result as sequential ones.
+ * Values are kept in a growable {@code int[]} (4 bytes per value, no boxing) to answer percentiles exactly.
+ * <p>
+ * Not thread safe, same as {@link IntSummaryStatistics}: designed for {@link java.util.stream.Stream#collect}.
+ */
+public class IntStatistics implements IntConsumer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean;
+    private double m2; // sum of squared differences from the mean
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private boolean sorted = true;
+
+    /**
+     * Same contract as {@code Collectors.summarizingInt(mapper)}, but produces {@link IntStatistics}.
+     */
+    public static <T> Collector<T, ?, IntStatistics> summarizingInt(ToIntFunction<? super T> mapper) {
+        return Collector.of(
+            IntStatistics::new,
+            (result, element) -> result.accept(mapper.applyAsInt(element)), // regular stream
+            (result1, result2) -> { result1.combine(result2); return result1; }, // parallel stream
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    @Override
+    public void accept(int value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, values.length * 2));
+        }
+        values[(int) count] = value;
+        sorted = false;
+
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public void combine(IntStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            mean = other.mean;
+            m2 = other.m2;
+        } else {
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        }
+
+        int size = (int) count;
+        int otherSize = (int) other.count;
+        if (size + otherSize > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + otherSize, values.length * 2));
+        }
+        System.arraycopy(other.values, 0, values, size, otherSize);
+        sorted = false;
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /** {@link Integer#MAX_VALUE} if nothing was collected. */
+    public int getMin() {
+        return min;
+    }
+
+    /** {@link Integer#MIN_VALUE} if nothing was collected. */
+    public int getMax() {
+        return max;
+    }
+
+    /** Zero if nothing was collected. */
+    public double getAverage() {
+        return count == 0 ? 0d : (double) sum / count;
+    }
+
+    /** Population variance, zero if nothing was collected. */
+    public double getVariance() {
+        return count == 0 ? 0d : m2 / count;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Exact percentile using the nearest-rank method: the smallest collected value such that at least
+     * {@code percentile}% of all values are less than or equal to it.
+     *
+     * @param percentile value in range {@code (0, 100]}
+     * @throws IllegalStateException if nothing was collected
+     */
+    public int getPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100]: " + percentile);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No values collected");
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, (int) count);
+            sorted = true;
+        }
+        return values[(int) nearestRank(percentile, count) - 1];
+    }
+
+    /**
+     * 1-based nearest rank of the {@code percentile} among {@code count} sorted values: {@code ceil(p / 100 * n)}.
+     * <p>
+     * Decimal percentiles are not exact in binary ({@code 7d / 100 * 100 == 7.000000000000001}), so a product
+     * within a few ulps of an integer is taken as that integer, e.g. p99.9 of 1000 values is rank 999, not 1000.
+     */
+    public static long nearestRank(double percentile, long count) {
+        double exact = percentile * count / 100;
+        double nearest = Math.rint(exact);
+        double rank = Math.abs(exact - nearest) <= 4 * Math.ulp(nearest) ? nearest : Math.ceil(exact);
+        return Math.max(1, Math.min(count, (long) rank));
+    }
+
+    public int getP50() {
+        return getPercentile(50);
+    }
+
+    public int getP90() {
+        return getPercentile(90);
+    }
+
+    public int getP99() {
+        return getPercentile(99);
+    }
+
+    public IntSummaryStatistics toIntSummaryStatistics() {
+        return new IntSummaryStatistics(count, min, max, sum);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s{count=%d, sum=%d, min=%d, average=%f, max=%d, variance=%f}",
+            getClass().getSimpleName(), count, sum, min, getAverage(), max, getVariance());
+    }
+}
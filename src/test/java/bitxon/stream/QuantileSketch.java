@@ -0,0 +1,196 @@
+package bitxon.stream;
+
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantee (DDSketch style logarithmic buckets).
+ * <p>
+ * A positive value {@code v} is counted in bucket {@code ceil(log(v) / log(gamma))} with
+ * {@code gamma = (1 + alpha) / (1 - alpha)}, zero has its own counter. Every quantile returned by
+ * {@link #getQuantile} is within {@code alpha * exact} of the exact nearest-rank quantile.
+ * Memory depends on the value range, not on the number of values: {@code alpha = 1%} needs about
+ * 1 040 buckets (8 bytes each) for any values in {@code [1, 1e9]}.
+ * <p>
+ * Two sketches with the same accuracy merge exactly (bucket counts are added), so per-department sketches
+ * can be combined into a company wide one. Accepts non-negative values only. Not thread safe.
+ */
+public class QuantileSketch implements IntConsumer {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int offset; // bucket index of counts[0]
+    private long zeroCount;
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param relativeAccuracy alpha, in range {@code (0, 1)}
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in range (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public static <T> Collector<T, ?, QuantileSketch> sketching(ToIntFunction<? super T> mapper) {
+        return sketching(mapper, DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public static <T> Collector<T, ?, QuantileSketch> sketching(ToIntFunction<? super T> mapper,
+                                                                double relativeAccuracy) {
+        return Collector.of(
+            () -> new QuantileSketch(relativeAccuracy),
+            (result, element) -> result.accept(mapper.applyAsInt(element)), // regular stream
+            QuantileSketch::merge, // parallel stream
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    @Override
+    public void accept(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are not supported: " + value);
+        }
+        if (value == 0) {
+            zeroCount++;
+        } else {
+            int index = bucketIndex(value);
+            ensureCapacity(index, index);
+            counts[index - offset]++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of {@code other} to this sketch.
+     *
+     * @return this sketch
+     * @throws IllegalArgumentException if sketches have different relative accuracy
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException(
+                "Cannot merge sketches with accuracy " + relativeAccuracy + " and " + other.relativeAccuracy);
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** Exact, {@link Integer#MAX_VALUE} if nothing was collected. */
+    public int getMin() {
+        return min;
+    }
+
+    /** Exact, {@link Integer#MIN_VALUE} if nothing was collected. */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Approximate nearest-rank quantile.
+     *
+     * @param quantile value in range {@code (0, 1]}
+     * @throws IllegalStateException if nothing was collected
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile > 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be in range (0, 1]: " + quantile);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No values collected");
+        }
+        long rank = IntStatistics.nearestRank(quantile * 100, count);
+        if (rank <= zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        int i = 0;
+        while (i < counts.length) {
+            seen += counts[i];
+            if (seen >= rank) {
+                break;
+            }
+            i++;
+        }
+        double estimate = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+        return Math.max(min, Math.min(max, estimate));
+    }
+
+    /**
+     * @param percentile value in range {@code (0, 100]}
+     */
+    public double getPercentile(double percentile) {
+        return getQuantile(percentile / 100);
+    }
+
+    /** Number of allocated buckets, a measure of the memory footprint. */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, min=%d, max=%d, relativeAccuracy=%s, buckets=%d}",
+            getClass().getSimpleName(), count, min, max, relativeAccuracy, counts.length);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private int bucketIndex(int value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private void ensureCapacity(int fromIndex, int toIndex) {
+        if (counts.length == 0) {
+            counts = new long[toIndex - fromIndex + 1];
+            offset = fromIndex;
+            return;
+        }
+        int newFrom = Math.min(offset, fromIndex);
+        int newTo = Math.max(offset + counts.length - 1, toIndex);
+        if (newFrom == offset && newTo == offset + counts.length - 1) {
+            return;
+        }
+        var grown = new long[newTo - newFrom + 1];
+        System.arraycopy(counts, 0, grown, offset - newFrom, counts.length);
+        counts = grown;
+        offset = newFrom;
+    }
+}
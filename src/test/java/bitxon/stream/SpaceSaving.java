@@ -0,0 +1,202 @@
+package bitxon.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * Heavy hitters with the Space-Saving algorithm (Metwally et al.): at most {@code k} monitored items,
+ * memory does not depend on the number of distinct items.
+ * <p>
+ * Error bounds after {@code n} offered occurrences:
+ * <ul>
+ *     <li>every estimate overestimates, {@code count - error <= true frequency <= count}</li>
+ *     <li>{@code error <= n / k} for every item</li>
+ *     <li>every item with true frequency {@code > n / k} is monitored, so {@link #frequentItems} with
+ *     {@code support >= 1 / k} has no false negatives</li>
+ * </ul>
+ * Summaries merge (Agarwal et al., "Mergeable summaries") keeping the same bounds for the combined stream,
+ * so shards or parallel stream parts can be counted independently.
+ * <p>
+ * Thread safe: public methods synchronize on the instance. The {@link #heavyHitters} collector confines every
+ * container to one thread and skips locking.
+ */
+public class SpaceSaving<T> {
+
+    private final int capacity;
+    private CounterHeap<T> counters;
+    private long count;
+    private long untrackedBound; // upper bound of the frequency of dropped items, only set by merge
+
+    /**
+     * @param capacity number of monitored items k
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new CounterHeap<>(capacity);
+    }
+
+    public static <T> Collector<T, ?, SpaceSaving<T>> heavyHitters(int capacity) {
+        return Collector.of(
+            () -> new SpaceSaving<T>(capacity),
+            (result, item) -> result.add(item, 1), // regular stream
+            SpaceSaving::merge, // parallel stream
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    public synchronized void offer(T item) {
+        add(item, 1);
+    }
+
+    public synchronized void offer(T item, long occurrences) {
+        if (occurrences < 1) {
+            throw new IllegalArgumentException("Occurrences must be positive: " + occurrences);
+        }
+        add(item, occurrences);
+    }
+
+    private void add(T item, long occurrences) {
+        Objects.requireNonNull(item, "item");
+        count += occurrences;
+        int slot = counters.indexOf(item);
+        if (slot >= 0) {
+            counters.increment(slot, occurrences);
+            return;
+        }
+        long bound = untrackedBound();
+        if (counters.isFull()) {
+            counters.replaceMin(item, bound + occurrences, bound);
+        } else {
+            counters.add(item, bound + occurrences, bound);
+        }
+    }
+
+    /**
+     * Adds all occurrences counted by {@code other} to this summary.
+     *
+     * @return this summary
+     * @throws IllegalArgumentException if summaries have different capacity
+     */
+    public SpaceSaving<T> merge(SpaceSaving<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge summary with itself");
+        }
+        List<FrequencyEstimate<T>> otherCounters;
+        long otherCount;
+        long otherBound;
+        synchronized (other) {
+            if (capacity != other.capacity) {
+                throw new IllegalArgumentException(
+                    "Cannot merge summaries with capacity " + capacity + " and " + other.capacity);
+            }
+            otherCounters = other.counters.toSortedList();
+            otherCount = other.count;
+            otherBound = other.untrackedBound();
+        }
+        synchronized (this) {
+            long bound = untrackedBound();
+            var merged = new HashMap<T, FrequencyEstimate<T>>();
+            for (var estimate : counters.toSortedList()) {
+                merged.put(estimate.item(), new FrequencyEstimate<>(
+                    estimate.item(), estimate.count() + otherBound, estimate.error() + otherBound));
+            }
+            for (var estimate : otherCounters) {
+                merged.merge(estimate.item(),
+                    new FrequencyEstimate<>(estimate.item(), estimate.count() + bound, estimate.error() + bound),
+                    // present in both: replace the assumed bound by the real counter
+                    (mine, theirs) -> new FrequencyEstimate<>(estimate.item(),
+                        mine.count() - otherBound + estimate.count(), mine.error() - otherBound + estimate.error()));
+            }
+            var sorted = new ArrayList<>(merged.values());
+            sorted.sort(Comparator.comparingLong(FrequencyEstimate<T>::count).reversed());
+
+            counters = new CounterHeap<>(capacity);
+            long dropped = bound + otherBound; // items absent from both summaries
+            for (int i = 0; i < sorted.size(); i++) {
+                var estimate = sorted.get(i);
+                if (i < capacity) {
+                    counters.add(estimate.item(), estimate.count(), estimate.error());
+                } else {
+                    dropped = Math.max(dropped, estimate.count());
+                }
+            }
+            untrackedBound = dropped;
+            count += otherCount;
+            return this;
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Number of offered occurrences. */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Upper bound of the frequency of any item that is not monitored, also the maximal error of any estimate.
+     * Never exceeds {@code getCount() / getCapacity()}.
+     */
+    public synchronized long getMaxError() {
+        return untrackedBound();
+    }
+
+    /**
+     * Estimate of a single item. For an item that is not monitored the count is {@link #getMaxError}
+     * and the lower bound is zero.
+     */
+    public synchronized FrequencyEstimate<T> estimate(T item) {
+        int slot = counters.indexOf(item);
+        if (slot >= 0) {
+            return counters.estimate(slot);
+        }
+        long bound = untrackedBound();
+        return new FrequencyEstimate<>(item, bound, bound);
+    }
+
+    /** Up to {@code n} monitored items with the greatest counts, greatest first. */
+    public synchronized List<FrequencyEstimate<T>> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        var all = counters.toSortedList();
+        return List.copyOf(all.subList(0, Math.min(n, all.size())));
+    }
+
+    /**
+     * Monitored items whose estimated count exceeds {@code support * getCount()}.
+     * Contains every item with such true frequency when {@code support >= 1 / capacity};
+     * may contain items with true frequency down to {@code support * getCount() - getMaxError()}.
+     */
+    public synchronized List<FrequencyEstimate<T>> frequentItems(double support) {
+        if (!(support > 0 && support <= 1)) {
+            throw new IllegalArgumentException("Support must be in range (0, 1]: " + support);
+        }
+        double threshold = support * count;
+        return counters.toSortedList().stream()
+            .filter(estimate -> estimate.count() > threshold)
+            .toList();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s{count=%d, capacity=%d, monitored=%d, maxError=%d}",
+            getClass().getSimpleName(), count, capacity, counters.size(), untrackedBound());
+    }
+
+    private long untrackedBound() {
+        return counters.isFull() ? Math.max(untrackedBound, counters.minCount()) : untrackedBound;
+    }
+}
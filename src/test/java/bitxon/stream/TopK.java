@@ -0,0 +1,184 @@
+package bitxon.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Top-K / bottom-K collectors backed by a fixed-size binary heap: O(n log k) time and O(k) memory
+ * instead of {@code sorted(...).limit(k)} with O(n log n) time and O(n) memory.
+ * <p>
+ * Results are identical to {@code sorted(comparator.reversed()).limit(k)} (top) and
+ * {@code sorted(comparator).limit(k)} (bottom), including ties: among equal elements
+ * the one met first in encounter order wins, also for parallel streams.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * K greatest elements according to the comparator, greatest first.
+     */
+    public static <T> Collector<T, ?, List<T>> top(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        Objects.requireNonNull(comparator, "comparator");
+        return Collector.of(
+            () -> new Heap<T>(k, comparator),
+            Heap::offer, // regular stream
+            Heap::merge, // parallel stream
+            Heap::toSortedList
+        );
+    }
+
+    /**
+     * K smallest elements according to the comparator, smallest first.
+     */
+    public static <T> Collector<T, ?, List<T>> bottom(int k, Comparator<? super T> comparator) {
+        return top(k, Objects.requireNonNull(comparator, "comparator").reversed());
+    }
+
+    /**
+     * Top K elements per group, e.g. top 3 earners per title.
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> topBy(Function<? super T, ? extends K> classifier,
+                                                              int k, Comparator<? super T> comparator) {
+        return Collectors.groupingBy(classifier, top(k, comparator));
+    }
+
+    /**
+     * Bottom K elements per group.
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> bottomBy(Function<? super T, ? extends K> classifier,
+                                                                 int k, Comparator<? super T> comparator) {
+        return Collectors.groupingBy(classifier, bottom(k, comparator));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Min-heap of the best K elements seen so far: the root is the worst kept element.
+     * Every element carries its encounter position, later position loses a tie.
+     */
+    static final class Heap<T> {
+        private final int capacity;
+        private final Comparator<? super T> comparator;
+        private final Object[] elements;
+        private final long[] positions;
+        private int size;
+        private long accepted;
+
+        Heap(int capacity, Comparator<? super T> comparator) {
+            this.capacity = capacity;
+            this.comparator = comparator;
+            this.elements = new Object[capacity];
+            this.positions = new long[capacity];
+        }
+
+        void offer(T element) {
+            offer(element, accepted++);
+        }
+
+        /**
+         * Appends {@code right} after this heap in encounter order.
+         */
+        Heap<T> merge(Heap<T> right) {
+            for (int i = 0; i < right.size; i++) {
+                offer(right.element(i), accepted + right.positions[i]);
+            }
+            accepted += right.accepted;
+            return this;
+        }
+
+        /**
+         * Drains the heap worst first, then reverses, so the result is best first.
+         */
+        List<T> toSortedList() {
+            var result = new ArrayList<T>(size);
+            while (size > 0) {
+                result.add(element(0));
+                swap(0, --size);
+                elements[size] = null;
+                siftDown(0);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        private void offer(T element, long position) {
+            if (capacity == 0) {
+                return;
+            }
+            if (size < capacity) {
+                elements[size] = element;
+                positions[size] = position;
+                siftUp(size++);
+            } else if (compare(element, position, element(0), positions[0]) > 0) {
+                elements[0] = element;
+                positions[0] = position;
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(index, parent) >= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int worst = right < size && compare(right, left) < 0 ? right : left;
+                if (compare(worst, index) >= 0) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private int compare(int i, int j) {
+            return compare(element(i), positions[i], element(j), positions[j]);
+        }
+
+        /**
+         * Positive if the first element is better: greater by comparator, or equal and met earlier.
+         */
+        private int compare(T element1, long position1, T element2, long position2) {
+            int result = comparator.compare(element1, element2);
+            return result != 0 ? result : Long.compare(position2, position1);
+        }
+
+        private void swap(int i, int j) {
+            var element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+            var position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(int index) {
+            return (T) elements[index];
+        }
+    }
+}
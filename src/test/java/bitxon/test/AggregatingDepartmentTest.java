@@ -0,0 +1,113 @@
+package bitxon.test;
+
+import bitxon.model.business.AggregatingDepartment;
+import bitxon.model.business.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.INT_SUMMARY_STATISTICS_COMPARATOR;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AggregatingDepartmentTest {
+
+    @Test
+    void initialAggregates() {
+        var finance = AggregatingDepartment.of(DEPARTMENTS.get(0));
+
+        assertThat(finance.count()).isEqualTo(8);
+        assertThat(finance.averageSalary()).isEqualTo(7500d);
+        assertThat(finance.statistic(SENIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(4, 8300, 10000, 37300));
+        assertThat(finance.statistic(JUNIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(2, 3900, 4000, 7900));
+    }
+
+    @Test
+    void removeMinAndMaxWithoutRescan() {
+        var finance = AggregatingDepartment.of(DEPARTMENTS.get(0));
+
+        assertThat(finance.remove(Employee.builder().title(SENIOR).salary(10_000).build())).isTrue();
+        assertThat(finance.remove(Employee.builder().title(SENIOR).salary(8_300).build())).isTrue();
+        assertThat(finance.remove(Employee.builder().title(SENIOR).salary(1).build())).isFalse();
+
+        assertThat(finance.statistic(SENIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(2, 9500, 9500, 19000));
+        assertThat(finance.count()).isEqualTo(6);
+    }
+
+    @Test
+    void lastEmployeeOfTitleRemoved() {
+        var department = new AggregatingDepartment("Test");
+        var middle = Employee.builder().title(MIDDLE).salary(7_000).build();
+        department.add(middle);
+        department.remove(middle);
+
+        assertThat(department.count(MIDDLE)).isZero();
+        assertThat(department.statisticByTitle()).isEmpty();
+        assertThat(department.averageSalary(MIDDLE)).isZero();
+    }
+
+    @Test
+    void changeSalary() {
+        var department = new AggregatingDepartment("Test");
+        var junior = Employee.builder().title(JUNIOR).salary(3_000).build();
+        department.add(junior);
+        department.add(Employee.builder().title(JUNIOR).salary(3_500).build());
+
+        department.changeSalary(junior, 4_200);
+
+        assertThat(junior.getSalary()).isEqualTo(4_200);
+        assertThat(department.statistic(JUNIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(2, 3500, 4200, 7700));
+        assertThatThrownBy(() -> department.changeSalary(Employee.builder().title(JUNIOR).salary(3_500).build(), 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void randomMutationsMatchFullRescan() {
+        var random = new Random(3);
+        var titles = new String[]{SENIOR, MIDDLE, JUNIOR};
+        var department = new AggregatingDepartment("Random");
+        var live = new ArrayList<Employee>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int action = random.nextInt(3);
+            if (action == 0 || live.isEmpty()) {
+                var employee = Employee.builder()
+                    .title(titles[random.nextInt(titles.length)])
+                    .salary(random.nextInt(100)).build();
+                live.add(employee);
+                department.add(employee);
+            } else if (action == 1) {
+                var employee = live.remove(random.nextInt(live.size()));
+                assertThat(department.remove(employee)).isTrue();
+            } else {
+                department.changeSalary(live.get(random.nextInt(live.size())), random.nextInt(100));
+            }
+        }
+
+        var expected = live.stream().collect(Collectors.groupingBy(
+            Employee::getTitle,
+            Collectors.summarizingInt(Employee::getSalary)));
+        var actual = department.statisticByTitle();
+
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((title, statistic) -> assertThat(actual.get(title)).as(title)
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(statistic));
+        assertThat(department.toDepartment().getEmployees()).containsExactlyInAnyOrderElementsOf(live);
+    }
+}
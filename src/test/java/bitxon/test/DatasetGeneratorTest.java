@@ -0,0 +1,110 @@
+package bitxon.test;
+
+import bitxon.data.DatasetGenerator;
+import bitxon.data.DatasetGenerator.SalaryDistribution;
+import bitxon.data.DatasetGenerator.TitleShare;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+    // not a multiple of the block size nor of the department count
+    static final DatasetGenerator GENERATOR = DatasetGenerator.builder()
+        .seed(7)
+        .departmentCount(37)
+        .employeeCount(300_001)
+        .build();
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 8})
+    void sameOutputForAnyThreadCount(int threads) {
+        var expected = GENERATOR.departments(1);
+
+        assertThat(GENERATOR.departments(threads)).isEqualTo(expected);
+        assertThat(GENERATOR.departments()).isEqualTo(expected);
+    }
+
+    @Test
+    void employeesStreamMatchesDepartments() {
+        var expected = GENERATOR.departments().stream()
+            .flatMap(department -> department.getEmployees().stream())
+            .toList();
+
+        assertThat(GENERATOR.employees().toList()).isEqualTo(expected);
+        assertThat(GENERATOR.employees().parallel().toList()).isEqualTo(expected);
+    }
+
+    @Test
+    void seedChangesOutput() {
+        var other = GENERATOR.toBuilder().seed(8).build();
+
+        assertThat(other.employees().limit(100).toList())
+            .isNotEqualTo(GENERATOR.employees().limit(100).toList());
+    }
+
+    @Test
+    void departmentSizesAndNames() {
+        var departments = GENERATOR.departments();
+
+        assertThat(departments).hasSize(37);
+        assertThat(departments)
+            .allMatch(department -> department.getEmployees().size() == 8_108 || department.getEmployees().size() == 8_109);
+        assertThat(departments.stream().mapToInt(department -> department.getEmployees().size()).sum())
+            .isEqualTo(300_001);
+        assertThat(departments).extracting(Department::getName)
+            .doesNotHaveDuplicates()
+            .allMatch(name -> !name.isBlank());
+    }
+
+    @Test
+    void defaultTitlesAndSalaries() {
+        var byTitle = GENERATOR.employees()
+            .collect(Collectors.groupingBy(Employee::getTitle, Collectors.summarizingInt(Employee::getSalary)));
+
+        assertThat(byTitle).containsOnlyKeys("Senior", "Middle", "Junior");
+        assertThat(byTitle.get("Senior").getCount()).isBetween(118_000L, 122_000L);
+        assertThat(byTitle.get("Middle").getCount()).isBetween(88_500L, 91_500L);
+        assertThat(byTitle.get("Junior").getCount()).isBetween(88_500L, 91_500L);
+        assertThat(byTitle.get("Senior").getMin()).isGreaterThanOrEqualTo(8_000);
+        assertThat(byTitle.get("Senior").getMax()).isLessThan(12_000);
+        assertThat(byTitle.get("Junior").getMin()).isGreaterThanOrEqualTo(3_000);
+        assertThat(byTitle.get("Junior").getMax()).isLessThan(4_500);
+    }
+
+    @Test
+    void customTitles() {
+        var generator = DatasetGenerator.builder()
+            .departmentCount(4)
+            .employeeCount(100_000)
+            .titles(List.of(
+                new TitleShare("Intern", 1, SalaryDistribution.uniform(1_000, 1_001)),
+                new TitleShare("Engineer", 9, SalaryDistribution.normal(5_000, 500))))
+            .build();
+
+        var byTitle = generator.employees()
+            .collect(Collectors.groupingBy(Employee::getTitle, Collectors.summarizingInt(Employee::getSalary)));
+
+        assertThat(byTitle.get("Intern").getCount()).isBetween(9_500L, 10_500L);
+        assertThat(byTitle.get("Intern").getMax()).isEqualTo(1_000);
+        assertThat(byTitle.get("Engineer").getAverage()).isBetween(4_980.0, 5_020.0);
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThatThrownBy(() -> GENERATOR.toBuilder().departmentCount(0).build().departments())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GENERATOR.toBuilder().titles(List.of()).build().employees())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SalaryDistribution.uniform(10, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
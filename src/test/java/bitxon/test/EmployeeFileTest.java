@@ -0,0 +1,123 @@
+package bitxon.test;
+
+import bitxon.data.DatasetGenerator;
+import bitxon.data.EmployeeFile;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.IT;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void columns() throws IOException {
+        var file = directory.resolve("departments.bin");
+        EmployeeFile.write(DEPARTMENTS, file);
+
+        var employees = EmployeeFile.open(file);
+
+        assertThat(employees.size()).isEqualTo(17);
+        assertThat(employees.departmentCount()).isEqualTo(3);
+        assertThat(employees.titleCount()).isEqualTo(3);
+
+        assertThat(employees.departmentName(1)).isEqualTo(IT);
+        assertThat(employees.departmentStart(1)).isEqualTo(8);
+        assertThat(employees.departmentEnd(1)).isEqualTo(13);
+        assertThat(employees.title(8)).isEqualTo(SENIOR);
+        assertThat(employees.salary(8)).isEqualTo(10_000);
+        assertThat(employees.salaries().sum()).isEqualTo(132000);
+        assertThat(employees.salaryColumn().isReadOnly()).isTrue();
+        assertThat(employees.salaryColumn().get(8)).isEqualTo(10_000);
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        var file = directory.resolve("departments.bin");
+        EmployeeFile.write(DEPARTMENTS, file);
+
+        assertThat(EmployeeFile.open(file).departments()).isEqualTo(DEPARTMENTS);
+    }
+
+    @Test
+    void roundTripGenerated() throws IOException {
+        var departments = DatasetGenerator.builder().departmentCount(50).employeeCount(200_000).build().departments();
+        var file = directory.resolve("generated.bin");
+        EmployeeFile.write(departments, file);
+
+        assertThat(EmployeeFile.open(file).departments()).isEqualTo(departments);
+    }
+
+    @Test
+    void emptyDepartmentsAndWideTitleCodes() throws IOException {
+        var employees = IntStream.range(0, 70_000)
+            .mapToObj(i -> Employee.builder().title("Title-" + i).salary(i).build())
+            .toList();
+        var departments = List.of(
+            Department.builder().name("Empty").employees(List.of()).build(),
+            Department.builder().name("Wide").employees(employees).build(),
+            Department.builder().name("Missing").build()
+        );
+        var file = directory.resolve("wide.bin");
+        EmployeeFile.write(departments, file);
+
+        var read = EmployeeFile.open(file);
+
+        assertThat(read.titleCount()).isEqualTo(70_000);
+        assertThat(read.title(69_999)).isEqualTo("Title-69999");
+        assertThat(read.titleId(69_999)).isEqualTo(69_999);
+        assertThat(read.departmentStart(1)).isZero();
+        assertThat(read.departmentEnd(2) - read.departmentStart(2)).isZero();
+        assertThat(read.department(1)).isEqualTo(departments.get(1));
+        assertThat(read.department(2).getEmployees()).isEmpty();
+    }
+
+    @Test
+    void detectsCorruption() throws IOException {
+        var file = directory.resolve("departments.bin");
+        EmployeeFile.write(DEPARTMENTS, file);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), Files.size(file) - 1);
+        }
+
+        assertThatThrownBy(() -> EmployeeFile.open(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Checksum mismatch");
+        assertThat(EmployeeFile.open(file, false).size()).as("checksum is not verified").isEqualTo(17);
+    }
+
+    @Test
+    void rejectsOtherFormats() throws IOException {
+        var file = directory.resolve("departments.bin");
+        EmployeeFile.write(DEPARTMENTS, file);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 2), Integer.BYTES);
+        }
+        var text = Files.writeString(directory.resolve("text.bin"), "not an employee file".repeat(10));
+
+        assertThatThrownBy(() -> EmployeeFile.open(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("version 2");
+        assertThatThrownBy(() -> EmployeeFile.open(text))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Not an employee file");
+    }
+}
@@ -0,0 +1,138 @@
+package bitxon.test;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.model.business.EmployeeTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.FINANCE;
+import static bitxon.test.StreamBusinessTest.HR;
+import static bitxon.test.StreamBusinessTest.INT_SUMMARY_STATISTICS_COMPARATOR;
+import static bitxon.test.StreamBusinessTest.IT;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeTableTest {
+
+    static final EmployeeTable TABLE = EmployeeTable.from(DEPARTMENTS);
+
+    @Test
+    void columns() {
+        assertThat(TABLE.size()).isEqualTo(17);
+        assertThat(TABLE.departmentCount()).isEqualTo(3);
+        assertThat(TABLE.titleCount()).isEqualTo(3);
+
+        assertThat(TABLE.departmentName(1)).isEqualTo(IT);
+        assertThat(TABLE.departmentStart(1)).isEqualTo(8);
+        assertThat(TABLE.departmentEnd(1)).isEqualTo(13);
+        assertThat(TABLE.title(8)).isEqualTo(SENIOR);
+        assertThat(TABLE.salary(8)).isEqualTo(10_000);
+        assertThat(TABLE.salaries().sum()).isEqualTo(132000);
+    }
+
+    @Test
+    void averageSalaryByTitle() {
+        assertThat(TABLE.averageSalaryByTitle()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            SENIOR, 9400d,
+            MIDDLE, 7400d,
+            JUNIOR, 3950d
+        ));
+    }
+
+    @Test
+    void minAndMaxSalaryByTitle() {
+        assertThat(TABLE.minSalaryByTitle()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            SENIOR, 8300,
+            MIDDLE, 7400,
+            JUNIOR, 3900
+        ));
+        assertThat(TABLE.maxSalaryByTitle()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            SENIOR, 11100,
+            MIDDLE, 7400,
+            JUNIOR, 4000
+        ));
+    }
+
+    @Test
+    void statisticSalaryByTitle() {
+        var statistic = TABLE.statisticSalaryByTitle();
+
+        assertThat(statistic).containsOnlyKeys(JUNIOR, MIDDLE, SENIOR);
+        assertThat(statistic.get(JUNIOR)).as("Junior check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(4, 3900, 4000, 15800));
+        assertThat(statistic.get(MIDDLE)).as("Middle check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(3, 7400, 7400, 22200));
+        assertThat(statistic.get(SENIOR)).as("Senior check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(10, 8300, 11100, 94000));
+    }
+
+    @Test
+    void salaryByDepartment() {
+        assertThat(TABLE.averageSalaryByDepartment()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            FINANCE, 7500d,
+            IT, 7140d,
+            HR, 9075d
+        ));
+        assertThat(TABLE.minSalaryByDepartment()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            FINANCE, 3900,
+            IT, 3900,
+            HR, 7400
+        ));
+        assertThat(TABLE.maxSalaryByDepartment()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            FINANCE, 10000,
+            IT, 10000,
+            HR, 11100
+        ));
+    }
+
+    @Test
+    void departmentsWithSameNameAreMerged() {
+        var table = EmployeeTable.from(List.of(
+            Department.builder().name(IT).employees(List.of(Employee.builder().title(SENIOR).salary(9_000).build())).build(),
+            Department.builder().name(HR).employees(List.of()).build(),
+            Department.builder().name(IT).employees(List.of(
+                Employee.builder().title(JUNIOR).salary(3_000).build(),
+                Employee.builder().title(JUNIOR).salary(3_000).build())).build()
+        ));
+
+        // Exact average (15000 / 3), not the average of department averages (9000 + 3000) / 2
+        assertThat(table.averageSalaryByDepartment()).containsExactlyInAnyOrderEntriesOf(Map.of(IT, 5000d));
+        assertThat(table.statisticSalaryByDepartment().get(IT))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(3, 3000, 9000, 15000));
+    }
+
+    @Test
+    void sameResultAsStreams() {
+        var expected = DEPARTMENTS.stream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                Collectors.averagingInt(Employee::getSalary)));
+
+        assertThat(TABLE.averageSalaryByTitle()).isEqualTo(expected);
+    }
+
+    @Test
+    void nullTitleIsRejected() {
+        var departments = List.of(
+            Department.builder().name(IT).employees(List.of(Employee.builder().salary(1).build())).build()
+        );
+
+        assertThatThrownBy(() -> EmployeeTable.from(departments)).isInstanceOf(NullPointerException.class);
+    }
+}
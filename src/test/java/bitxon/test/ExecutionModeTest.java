@@ -0,0 +1,80 @@
+package bitxon.test;
+
+import bitxon.concurrent.ExecutionMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionModeTest {
+
+    @ParameterizedTest
+    @EnumSource(ExecutionMode.class)
+    void blockingTasksComplete(ExecutionMode mode) {
+        try (var executor = mode.newExecutor()) {
+            var futures = IntStream.range(0, 200)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> sleepAndGet(i, 20), executor))
+                .toList();
+
+            assertThat(futures.stream().map(CompletableFuture::join))
+                .containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+        }
+    }
+
+    @Test
+    void threadKindPerMode() {
+        assertThat(threadOf(ExecutionMode.FORK_JOIN)).isInstanceOf(ForkJoinWorkerThread.class);
+        assertThat(threadOf(ExecutionMode.PLATFORM_POOL).isVirtual()).isFalse();
+        assertThat(threadOf(ExecutionMode.VIRTUAL_THREADS).isVirtual()).isTrue();
+    }
+
+    @Test
+    void virtualThreadsDoNotQueueBlockingCalls() {
+        long start = System.nanoTime();
+        try (var executor = ExecutionMode.VIRTUAL_THREADS.newExecutor()) {
+            var futures = IntStream.range(0, 10_000)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> sleepAndGet(i, 200), executor))
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // a pool of 256 platform threads needs 10_000 / 256 * 200 ms = 7.8 s
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void configuredBySystemProperty() {
+        try {
+            assertThat(ExecutionMode.configured()).isEqualTo(ExecutionMode.FORK_JOIN);
+            System.setProperty(ExecutionMode.PROPERTY, "virtual_threads");
+            assertThat(ExecutionMode.configured()).isEqualTo(ExecutionMode.VIRTUAL_THREADS);
+        } finally {
+            System.clearProperty(ExecutionMode.PROPERTY);
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static Thread threadOf(ExecutionMode mode) {
+        try (var executor = mode.newExecutor(1)) {
+            return CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+        }
+    }
+
+    private static int sleepAndGet(int value, int sleepMillis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package bitxon.test;
+
+import bitxon.math.Factorial;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FactorialTest {
+
+    @Test
+    void longFastPath() {
+        assertThat(Factorial.asLong(0)).isEqualTo(1L);
+        assertThat(Factorial.asLong(5)).isEqualTo(120L);
+        assertThat(Factorial.asLong(13)).as("overflows int").isEqualTo(6_227_020_800L);
+        assertThat(Factorial.asLong(20)).isEqualTo(2_432_902_008_176_640_000L);
+        assertThatThrownBy(() -> Factorial.asLong(21)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Factorial.asLong(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void productTreeMatchesNaive() {
+        for (int n = 0; n <= 1_000; n++) {
+            assertThat(Factorial.compute(n)).as("%s!", n).isEqualTo(Factorial.naive(n));
+        }
+        assertThat(Factorial.compute(25)).isEqualTo(new BigInteger("15511210043330985984000000"));
+    }
+
+    @Test
+    void parallelProductTreeMatchesNaive() {
+        assertThat(Factorial.compute(20_000)).isEqualTo(Factorial.naive(20_000));
+    }
+
+    @Test
+    void binomial() {
+        // Pascal's triangle
+        for (int n = 1; n <= 100; n++) {
+            for (int k = 1; k < n; k++) {
+                assertThat(Factorial.binomial(n, k))
+                    .as("C(%s, %s)", n, k)
+                    .isEqualTo(Factorial.binomial(n - 1, k - 1).add(Factorial.binomial(n - 1, k)));
+            }
+        }
+        assertThat(Factorial.binomial(5, 0)).isEqualTo(BigInteger.ONE);
+        assertThat(Factorial.binomial(5, 5)).isEqualTo(BigInteger.ONE);
+        assertThat(Factorial.binomial(3, 5)).isEqualTo(BigInteger.ZERO);
+        assertThat(Factorial.binomial(100, 50)).isEqualTo(new BigInteger("100891344545564193334812497256"));
+    }
+
+    @Test
+    void binomialOfLargeArguments() {
+        var expected = Factorial.compute(30_000)
+            .divide(Factorial.compute(12_000).multiply(Factorial.compute(18_000)));
+
+        assertThat(Factorial.binomial(30_000, 12_000)).isEqualTo(expected);
+        assertThat(Factorial.binomial(30_000, 18_000)).isEqualTo(expected);
+    }
+
+    @Test
+    void getThroughCache() {
+        var factorial = new Factorial(2);
+
+        var first = factorial.get(1_000);
+        assertThat(first).isEqualTo(Factorial.naive(1_000));
+        assertThat(factorial.get(1_000)).as("cached").isSameAs(first);
+        factorial.get(1_001);
+        factorial.get(1_002);
+        assertThat(factorial.get(1_000)).as("evicted").isNotSameAs(first).isEqualTo(first);
+        assertThat(factorial.get(5)).isEqualTo(BigInteger.valueOf(120));
+    }
+}
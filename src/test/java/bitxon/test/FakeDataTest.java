@@ -1,9 +1,13 @@
 package bitxon.test;
 
+import bitxon.data.UniquenessChecker;
+import bitxon.data.UniquenessChecker.Mode;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.Random;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,4 +29,21 @@ class FakeDataTest {
             .as("Check size (If size is not equal, it means there are duplicates)")
             .hasSize(list.size());
     }
+
+    @Test
+    void testStreaming() {
+        // seeded faker, so the second (exact) pass sees the same addresses
+        Supplier<Stream<String>> addresses = () -> {
+            var seededFaker = new Faker(new Random(42));
+            return Stream.generate(() -> seededFaker.address().fullAddress()).limit(1_000_000);
+        };
+        var checker = UniquenessChecker.<String>forStrings(Mode.BLOOM_FILTER, 1_000_000);
+
+        addresses.get().forEach(checker::add);
+        var duplicates = checker.duplicates(addresses.get());
+
+        assertThat(duplicates)
+            .as("Exact duplicates among suspects: %s", checker)
+            .isEmpty();
+    }
 }
@@ -0,0 +1,67 @@
+package bitxon.test;
+
+import bitxon.math.Fibonacci;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FibonacciTest {
+
+    @Test
+    void longSequence() {
+        assertThat(Fibonacci.longSequence(0)).containsExactly(0L);
+        assertThat(Fibonacci.longSequence(1)).containsExactly(0L, 1L);
+        assertThat(Fibonacci.longSequence(9)).containsExactly(0L, 1L, 1L, 2L, 3L, 5L, 8L, 13L, 21L, 34L);
+        assertThat(Fibonacci.longSequence(92)).hasSize(93);
+    }
+
+    @Test
+    void longFastPath() {
+        assertThat(Fibonacci.asLong(46)).isEqualTo(1_836_311_903L);
+        assertThat(Fibonacci.asLong(47)).as("overflows int").isEqualTo(2_971_215_073L);
+        assertThat(Fibonacci.asLong(92)).isEqualTo(7_540_113_804_746_346_429L);
+        assertThatThrownBy(() -> Fibonacci.asLong(93)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Fibonacci.asLong(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fastDoublingMatchesIteration() {
+        var expected = Fibonacci.stream().limit(2_000).toList();
+
+        for (int n = 0; n < expected.size(); n++) {
+            assertThat(Fibonacci.compute(n)).as("F(%s)", n).isEqualTo(expected.get(n));
+        }
+        assertThat(Fibonacci.compute(100)).isEqualTo(new BigInteger("354224848179261915075"));
+    }
+
+    @Test
+    void fastDoublingIdentities() {
+        var f = Fibonacci.compute(100_000);
+        var fNext = Fibonacci.compute(100_001);
+
+        // F(2n) = F(n) * (2F(n + 1) - F(n)), F(2n + 1) = F(n)^2 + F(n + 1)^2
+        assertThat(Fibonacci.compute(200_000)).isEqualTo(f.multiply(fNext.shiftLeft(1).subtract(f)));
+        assertThat(Fibonacci.compute(200_001)).isEqualTo(f.pow(2).add(fNext.pow(2)));
+    }
+
+    @Test
+    void rangeThroughCache() {
+        var fibonacci = new Fibonacci(16);
+        var expected = Fibonacci.stream().skip(500).limit(501).toList();
+
+        assertThat(fibonacci.range(500, 1_000)).containsExactlyElementsOf(expected);
+        assertThat(fibonacci.range(500, 1_000)).as("repeated request").containsExactlyElementsOf(expected);
+        assertThat(fibonacci.range(10, 12)).containsExactly(BigInteger.valueOf(55), BigInteger.valueOf(89), BigInteger.valueOf(144));
+        assertThat(fibonacci.range(5, 4)).isEmpty();
+        assertThat(fibonacci.get(1_000)).isEqualTo(expected.get(500));
+    }
+
+    @Test
+    void lazyStreamStopsEarly() {
+        assertThat(Fibonacci.stream().takeWhile(term -> term.bitLength() <= 31).count())
+            .as("terms that fit into int").isEqualTo(47);
+    }
+}
@@ -0,0 +1,116 @@
+package bitxon.test;
+
+import bitxon.model.structure.tree.FlatTree;
+import bitxon.model.structure.tree.Node;
+import bitxon.model.structure.tree.NodeTraversal;
+import bitxon.model.structure.tree.NodeTraversal.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static bitxon.test.TreeTest.TREE_ROOT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlatTreeTest {
+
+    static final FlatTree FLAT_TREE = FlatTree.of(TREE_ROOT);
+
+    @Test
+    void layout() {
+        assertThat(FLAT_TREE.size()).isEqualTo(10);
+        assertThat(FLAT_TREE.isComplete()).isFalse(); // node 5 has no children but 6 has
+        assertThat(FLAT_TREE.stream(Order.LEVEL_ORDER)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        // node 3 (index 2) -> 6 (index 5) and 7 (index 6)
+        assertThat(FLAT_TREE.left(2)).isEqualTo(5);
+        assertThat(FLAT_TREE.right(2)).isEqualTo(6);
+        // node 4 (index 3) -> 8 (index 7) and nothing
+        assertThat(FLAT_TREE.left(3)).isEqualTo(7);
+        assertThat(FLAT_TREE.right(3)).isEqualTo(-1);
+    }
+
+    @Test
+    void traversals() {
+        assertThat(FLAT_TREE.stream(Order.PRE_ORDER)).containsExactly(1, 2, 4, 8, 5, 3, 6, 9, 10, 7);
+        assertThat(FLAT_TREE.stream(Order.IN_ORDER)).containsExactly(8, 4, 2, 5, 1, 9, 6, 10, 3, 7);
+        assertThat(FLAT_TREE.stream(Order.POST_ORDER)).containsExactly(8, 4, 5, 2, 9, 10, 6, 7, 3, 1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Order.class)
+    void randomShapesMatchPointerForm(Order order) {
+        var random = new Random(23);
+        for (int i = 0; i < 200; i++) {
+            var root = randomTree(random, 14);
+            var flat = FlatTree.of(root);
+
+            assertThat(flat.stream(order).toArray()).isEqualTo(NodeTraversal.stream(root, order).toArray());
+            assertThat(NodeTraversal.stream(flat.toNode(), order).toArray())
+                .isEqualTo(NodeTraversal.stream(root, order).toArray());
+        }
+    }
+
+    @Test
+    void degenerateTree() {
+        Node chain = null;
+        for (int i = 1_000_000; i >= 1; i--) {
+            chain = Node.builder().data(i).right(chain).build();
+        }
+        var flat = FlatTree.of(chain);
+
+        assertThat(flat.size()).isEqualTo(1_000_000);
+        assertThat(flat.contains(777_777)).isTrue();
+        assertThat(flat.contains(0)).isFalse();
+        assertThat(flat.stream(Order.POST_ORDER).limit(2)).containsExactly(1_000_000, 999_999);
+    }
+
+    @Test
+    void fromSortedIsCompleteSearchTree() {
+        var sorted = IntStream.range(0, 1_000).map(i -> i * 2).toArray();
+        var flat = FlatTree.fromSorted(sorted);
+
+        assertThat(flat.isComplete()).isTrue();
+        assertThat(flat.stream(Order.IN_ORDER).toArray()).isEqualTo(sorted);
+        assertThat(FlatTree.of(flat.toNode()).isComplete()).isTrue();
+        for (int key = -3; key <= 2_001; key++) {
+            int expected = Arrays.binarySearch(sorted, key);
+            int lowerBound = flat.lowerBound(key);
+            if (key > 1_998) {
+                assertThat(lowerBound).as("key %s", key).isEqualTo(-1);
+            } else {
+                assertThat(flat.value(lowerBound)).as("key %s", key)
+                    .isEqualTo(expected >= 0 ? key : sorted[-expected - 1]);
+            }
+            assertThat(flat.contains(key)).isEqualTo(expected >= 0);
+        }
+    }
+
+    @Test
+    void edgeCases() {
+        var empty = FlatTree.of(null);
+        assertThat(empty.size()).isZero();
+        assertThat(empty.toNode()).isNull();
+        assertThat(empty.lowerBound(1)).isEqualTo(-1);
+        assertThat(empty.stream(Order.IN_ORDER)).isEmpty();
+
+        assertThat(FlatTree.fromSorted(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}).contains(Integer.MAX_VALUE))
+            .isTrue();
+        assertThatThrownBy(() -> FlatTree.fromSorted(new int[]{2, 1})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static Node randomTree(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return null;
+        }
+        return Node.builder()
+            .data(random.nextInt(100))
+            .left(randomTree(random, depth - 1))
+            .right(randomTree(random, depth - 1))
+            .build();
+    }
+}
@@ -0,0 +1,122 @@
+package bitxon.test;
+
+import bitxon.stream.CountMinSketch;
+import bitxon.stream.FrequencyEstimate;
+import bitxon.stream.SpaceSaving;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeavyHittersTest {
+
+    static final int CAPACITY = 50;
+    static final List<String> WORDS = zipfWords(new Random(42), 200_000, 20_000);
+    static final Map<String, Long> EXACT = WORDS.stream()
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+    @Test
+    void spaceSavingErrorBounds() {
+        var summary = WORDS.stream().collect(SpaceSaving.heavyHitters(CAPACITY));
+
+        assertSpaceSavingBounds(summary);
+    }
+
+    @Test
+    void spaceSavingParallelAndMergedShards() {
+        var parallel = WORDS.parallelStream().collect(SpaceSaving.heavyHitters(CAPACITY));
+        var shards = IntStream.range(0, 4)
+            .mapToObj(shard -> IntStream.range(0, WORDS.size())
+                .filter(i -> i % 4 == shard)
+                .mapToObj(WORDS::get)
+                .collect(SpaceSaving.<String>heavyHitters(CAPACITY)))
+            .toList();
+        var merged = shards.get(0).merge(shards.get(1)).merge(shards.get(2).merge(shards.get(3)));
+
+        assertSpaceSavingBounds(parallel);
+        assertSpaceSavingBounds(merged);
+        assertThat(merged.top(1)).extracting(FrequencyEstimate::item).containsExactly("word-0");
+    }
+
+    @Test
+    void spaceSavingExactWhileNotFull() {
+        var summary = new SpaceSaving<String>(3);
+        summary.offer("b");
+        summary.offer("a", 3);
+        summary.offer("b");
+
+        assertThat(summary.top(5)).containsExactly(
+            new FrequencyEstimate<>("a", 3, 0),
+            new FrequencyEstimate<>("b", 2, 0)
+        );
+        assertThat(summary.estimate("c")).isEqualTo(new FrequencyEstimate<>("c", 0, 0));
+        assertThatThrownBy(() -> summary.merge(new SpaceSaving<>(4))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countMinErrorBounds() {
+        var sketch = WORDS.parallelStream().collect(CountMinSketch.heavyHitters(0.001, 0.01, 10));
+        long exceeded = EXACT.entrySet().stream()
+            .filter(entry -> sketch.estimate(entry.getKey()).count() - entry.getValue() > sketch.getMaxError())
+            .count();
+
+        assertThat(sketch.getCount()).isEqualTo(WORDS.size());
+        EXACT.forEach((word, count) -> assertThat(sketch.estimate(word).count()).as(word).isGreaterThanOrEqualTo(count));
+        assertThat(exceeded).as("estimates beyond epsilon * n").isLessThanOrEqualTo((long) (0.01 * EXACT.size()));
+        assertThat(sketch.top(3)).extracting(FrequencyEstimate::item).containsExactly("word-0", "word-1", "word-2");
+    }
+
+    @Test
+    void concurrentCounters() {
+        var summary = new SpaceSaving<String>(CAPACITY);
+        var sketch = new CountMinSketch<String>(10);
+        var futures = IntStream.range(0, 8)
+            .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                for (int i = thread; i < WORDS.size(); i += 8) {
+                    summary.offer(WORDS.get(i));
+                    sketch.offer(WORDS.get(i));
+                }
+            }))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        assertSpaceSavingBounds(summary);
+        assertThat(sketch.getCount()).isEqualTo(WORDS.size());
+        assertThat(sketch.estimate("word-0").count()).isGreaterThanOrEqualTo(EXACT.get("word-0"));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static void assertSpaceSavingBounds(SpaceSaving<String> summary) {
+        long n = summary.getCount();
+        assertThat(n).isEqualTo(WORDS.size());
+        assertThat(summary.getMaxError()).isLessThanOrEqualTo(n / CAPACITY);
+        EXACT.forEach((word, count) -> {
+            var estimate = summary.estimate(word);
+            assertThat(count).as(word).isBetween(estimate.lowerBound(), estimate.count());
+        });
+        var frequent = summary.frequentItems(1d / CAPACITY).stream().map(FrequencyEstimate::item).toList();
+        EXACT.entrySet().stream()
+            .filter(entry -> entry.getValue() > n / CAPACITY)
+            .forEach(entry -> assertThat(frequent).contains(entry.getKey()));
+    }
+
+    /** Skewed word stream, rank {@code r} has probability roughly proportional to {@code 1 / r}. */
+    private static List<String> zipfWords(Random random, int size, int vocabulary) {
+        var words = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            int rank = (int) Math.floor(Math.pow(vocabulary + 1, random.nextDouble())) - 1;
+            words.add("word-" + rank);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,126 @@
+package bitxon.test;
+
+import bitxon.concurrent.ExecutionMode;
+import bitxon.concurrent.HedgingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingExecutorTest {
+
+    static final int REQUESTS = 200;
+    static final int SLOW_EVERY = 20;
+
+    private final ExecutorService executor = ExecutionMode.VIRTUAL_THREADS.newExecutor();
+    private final CountDownLatch losersInterrupted = new CountDownLatch(REQUESTS / SLOW_EVERY);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hedgingCutsTailLatency() {
+        var hedging = HedgingExecutor.fixedDelay(executor, Duration.ofMillis(50), 0.2);
+
+        var latencies = run(hedging, 1000);
+
+        assertThat(latencies[latencies.length - 1]).as("max latency").isLessThan(300);
+        assertThat(hedging.statistics().hedged()).isEqualTo(REQUESTS / SLOW_EVERY);
+        assertThat(hedging.statistics().hedgeWins()).isEqualTo(REQUESTS / SLOW_EVERY);
+    }
+
+    @Test
+    void loserIsCancelled() throws InterruptedException {
+        var hedging = HedgingExecutor.fixedDelay(executor, Duration.ofMillis(50), 0.2);
+
+        run(hedging, 1000);
+
+        assertThat(losersInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void budgetCapsHedges() {
+        var hedging = HedgingExecutor.fixedDelay(executor, Duration.ofMillis(50), 0);
+
+        var latencies = run(hedging, 300);
+
+        assertThat(latencies[latencies.length - 1]).as("max latency").isGreaterThanOrEqualTo(300);
+        assertThat(hedging.statistics().hedged()).isZero();
+        assertThat(hedging.statistics().budgetExhausted()).isEqualTo(REQUESTS / SLOW_EVERY);
+    }
+
+    @Test
+    void adaptiveDelayFollowsPercentile() {
+        var hedging = HedgingExecutor.percentile(executor, 90, Duration.ofSeconds(1), 0.1);
+        assertThat(hedging.delay()).as("initial delay").isEqualTo(Duration.ofSeconds(1));
+
+        run(hedging, 20);
+
+        assertThat(hedging.delay()).isBetween(Duration.ofMillis(5), Duration.ofMillis(100));
+    }
+
+    @Test
+    void failureIsNotRetried() {
+        var calls = new AtomicInteger();
+        var hedging = HedgingExecutor.fixedDelay(executor, Duration.ofMillis(10), 1);
+
+        var result = hedging.submit(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("failed");
+        });
+
+        assertThatThrownBy(result::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Every {@link #SLOW_EVERY}-th request is slow on its first attempt only, all other attempts take 10 ms.
+     *
+     * @return sorted latencies in milliseconds
+     */
+    private long[] run(HedgingExecutor hedging, int slowMillis) {
+        var futures = IntStream.range(0, REQUESTS)
+            .mapToObj(request -> {
+                var attempts = new AtomicInteger();
+                Callable<Integer> call = () -> {
+                    boolean slow = request % SLOW_EVERY == 0 && attempts.getAndIncrement() == 0;
+                    sleep(slow ? slowMillis : 10);
+                    return request;
+                };
+                long start = System.nanoTime();
+                return hedging.submit(call)
+                    .thenApply(value -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            })
+            .toList();
+        var latencies = futures.stream().mapToLong(CompletableFuture::join).toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private void sleep(int millis) throws InterruptedException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            losersInterrupted.countDown();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package bitxon.test;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.stream.IntStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.INT_SUMMARY_STATISTICS_COMPARATOR;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class IntStatisticsTest {
+
+    @Test
+    void statisticSalaryByTitle() {
+        var statistic = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(Collectors.groupingBy(
+                Employee::getTitle,
+                IntStatistics.summarizingInt(Employee::getSalary)));
+
+        // Validate
+        assertThat(statistic).isNotNull().containsOnlyKeys(JUNIOR, MIDDLE, SENIOR);
+
+        var junior = statistic.get(JUNIOR);
+        assertThat(junior.toIntSummaryStatistics()).as("Junior check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(4, 3900, 4000, 15800));
+        assertThat(junior.getVariance()).isCloseTo(2500d, within(1e-9));
+        assertThat(junior.getP50()).isEqualTo(3900);
+        assertThat(junior.getP90()).isEqualTo(4000);
+
+        var middle = statistic.get(MIDDLE);
+        assertThat(middle.toIntSummaryStatistics()).as("Middle check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(3, 7400, 7400, 22200));
+        assertThat(middle.getVariance()).isCloseTo(0d, within(1e-9));
+        assertThat(middle.getP99()).isEqualTo(7400);
+
+        var senior = statistic.get(SENIOR);
+        assertThat(senior.toIntSummaryStatistics()).as("Senior check")
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(10, 8300, 11100, 94000));
+        assertThat(senior.getAverage()).isEqualTo(9400d);
+        assertThat(senior.getVariance()).isCloseTo(656000d, within(1e-6));
+        assertThat(senior.getP50()).isEqualTo(9500);
+        assertThat(senior.getP90()).isEqualTo(10000);
+        assertThat(senior.getP99()).isEqualTo(11100);
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        var values = new Random(7).ints(200_000, 1_000, 20_000).toArray();
+
+        var sequential = IntStream.of(values).boxed()
+            .collect(IntStatistics.summarizingInt(Integer::intValue));
+        var parallel = IntStream.of(values).boxed().parallel()
+            .collect(IntStatistics.summarizingInt(Integer::intValue));
+
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        double mean = IntStream.of(values).average().orElseThrow();
+        double variance = IntStream.of(values).mapToDouble(v -> (v - mean) * (v - mean)).sum() / values.length;
+
+        for (var statistic : new IntStatistics[]{sequential, parallel}) {
+            assertThat(statistic.getCount()).isEqualTo(values.length);
+            assertThat(statistic.getSum()).isEqualTo(IntStream.of(values).asLongStream().sum());
+            assertThat(statistic.getMin()).isEqualTo(sorted[0]);
+            assertThat(statistic.getMax()).isEqualTo(sorted[sorted.length - 1]);
+            assertThat(statistic.getVariance()).isCloseTo(variance, within(1e-3));
+            assertThat(statistic.getP50()).isEqualTo(sorted[100_000 - 1]);
+            assertThat(statistic.getP90()).isEqualTo(sorted[180_000 - 1]);
+            assertThat(statistic.getP99()).isEqualTo(sorted[198_000 - 1]);
+        }
+    }
+
+    @Test
+    void percentileRankIsExact() {
+        var hundred = IntStream.rangeClosed(1, 100).boxed()
+            .collect(IntStatistics.summarizingInt(Integer::intValue));
+        var thousand = IntStream.rangeClosed(1, 1000).boxed()
+            .collect(IntStatistics.summarizingInt(Integer::intValue));
+
+        assertThat(hundred.getPercentile(7)).isEqualTo(7);
+        assertThat(hundred.getPercentile(7.5)).isEqualTo(8);
+        assertThat(thousand.getPercentile(99.9)).isEqualTo(999);
+        assertThat(thousand.getPercentile(99.95)).isEqualTo(1000);
+        assertThat(IntStatistics.nearestRank(0.001, 10)).isEqualTo(1);
+        assertThat(IntStatistics.nearestRank(100, 10)).isEqualTo(10);
+    }
+
+    @Test
+    void empty() {
+        var statistic = IntStream.empty().boxed()
+            .collect(IntStatistics.summarizingInt(Integer::intValue));
+
+        assertThat(statistic.getCount()).isZero();
+        assertThat(statistic.getAverage()).isZero();
+        assertThat(statistic.getVariance()).isZero();
+        assertThatThrownBy(statistic::getP50).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> statistic.getPercentile(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
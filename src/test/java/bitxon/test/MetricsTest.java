@@ -0,0 +1,171 @@
+package bitxon.test;
+
+import bitxon.metrics.CollectorMetrics;
+import bitxon.metrics.FutureMetrics;
+import bitxon.metrics.Histogram;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MetricsTest {
+
+    static final int SIZE = 1_000_000;
+
+    @Test
+    void instrumentedCollectorSequential() {
+        var metrics = new CollectorMetrics("averageSalaryByTitle");
+        var collector = Collectors.groupingBy(Employee::getTitle, Collectors.averagingInt(Employee::getSalary));
+
+        var statistic = DEPARTMENTS.stream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(metrics.instrument(collector));
+
+        assertThat(statistic).isEqualTo(DEPARTMENTS.stream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(collector));
+        var snapshot = metrics.snapshot();
+        assertThat(snapshot.elements()).isEqualTo(17);
+        assertThat(snapshot.containers()).isEqualTo(1);
+        assertThat(snapshot.combines()).isZero();
+        assertThat(snapshot.finishes()).isEqualTo(1);
+        assertThat(snapshot.imbalance()).isEqualTo(1);
+    }
+
+    @Test
+    void instrumentedCollectorParallel() {
+        var metrics = new CollectorMetrics("counting", 1);
+        var collector = Collectors.groupingBy((Integer i) -> i % 3, Collectors.counting());
+
+        var result = IntStream.range(0, SIZE).boxed().parallel().collect(metrics.instrument(collector));
+
+        assertThat(result).isEqualTo(IntStream.range(0, SIZE).boxed().collect(collector));
+        var snapshot = metrics.snapshot();
+        assertThat(snapshot.elements()).isEqualTo(SIZE);
+        assertThat(snapshot.combines()).isEqualTo(snapshot.containers() - 1);
+        assertThat(snapshot.partitionSizes().count()).as("one partition per split").isEqualTo(snapshot.containers());
+        assertThat(snapshot.partitionSizes().sum()).isEqualTo(SIZE);
+        assertThat(snapshot.accumulate()).isPositive();
+    }
+
+    @Test
+    void instrumentedConcurrentCollector() {
+        var metrics = new CollectorMetrics("groupingByConcurrent");
+
+        var result = IntStream.range(0, SIZE).boxed().parallel()
+            .collect(metrics.instrument(Collectors.groupingByConcurrent(i -> i % 3, Collectors.counting())));
+
+        assertThat(result).containsEntry(0, 333_334L).containsEntry(1, 333_333L).containsEntry(2, 333_333L);
+        assertThat(metrics.snapshot().elements()).isEqualTo(SIZE);
+    }
+
+    @Test
+    void histogramPercentiles() {
+        var histogram = new Histogram();
+        var random = new SplittableRandom(42);
+        var values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble(0, 30));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(values.length);
+        assertThat(snapshot.max()).isEqualTo(values[values.length - 1]);
+        assertThat((double) snapshot.p50()).isCloseTo(values[49_999], within(values[49_999] * 0.035));
+        assertThat((double) snapshot.p99()).isCloseTo(values[98_999], within(values[98_999] * 0.035));
+    }
+
+    @Test
+    void histogramPercentileRank() {
+        var histogram = new Histogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.record(1);
+        }
+        histogram.record(30); // values below 32 are exact
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.p999()).as("rank 999 of 1000").isEqualTo(1);
+        assertThat(snapshot.max()).isEqualTo(30);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    void futureOutcomesAndQueueTime() throws InterruptedException {
+        var metrics = new FutureMetrics("fanOut");
+        var executor = Executors.newSingleThreadExecutor();
+
+        var slow = metrics.supplyAsync(() -> sleepAndGet("A", 300), executor);
+        var queued = metrics.supplyAsync(() -> "B", executor); // waits behind A
+        var failing = metrics.supplyAsync(() -> {
+            throw new IllegalStateException("C");
+        }, executor);
+        var timedOut = metrics.track(CompletableFuture.supplyAsync(() -> sleepAndGet("D", 1000))
+            .orTimeout(100, TimeUnit.MILLISECONDS));
+        var cancelled = metrics.track(new CompletableFuture<String>());
+        cancelled.cancel(true);
+
+        CompletableFuture.allOf(slow, queued, failing, timedOut).exceptionally(failure -> null).join();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        var snapshot = metrics.snapshot();
+        assertThat(snapshot.submitted()).isEqualTo(3);
+        assertThat(snapshot.executed()).isEqualTo(3);
+        assertThat(snapshot.queued()).isZero();
+        assertThat(snapshot.succeeded()).isEqualTo(2);
+        assertThat(snapshot.failed()).isEqualTo(1);
+        assertThat(snapshot.timedOut()).isEqualTo(1);
+        assertThat(snapshot.cancelled()).isEqualTo(1);
+        assertThat(snapshot.queueNanos().max()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(snapshot.executionNanos().max()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void mbeans() throws Exception {
+        var collectorMetrics = new CollectorMetrics("mbean");
+        var futureMetrics = new FutureMetrics("mbean");
+        IntStream.range(0, 100).boxed().collect(collectorMetrics.instrument(Collectors.toList()));
+        futureMetrics.track(CompletableFuture.completedFuture("A"));
+        var server = ManagementFactory.getPlatformMBeanServer();
+
+        var collectorName = collectorMetrics.registerMBean();
+        var futureName = futureMetrics.registerMBean();
+        try {
+            assertThat(server.getAttribute(collectorName, "Elements")).isEqualTo(100L);
+            assertThat(server.getAttribute(futureName, "Succeeded")).isEqualTo(1L);
+        } finally {
+            collectorMetrics.unregisterMBean();
+            futureMetrics.unregisterMBean();
+        }
+        assertThat(server.isRegistered(collectorName)).isFalse();
+    }
+
+    private static String sleepAndGet(String value, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -1,16 +1,24 @@
 package bitxon.test;
 
+import bitxon.concurrent.Pipeline;
+import bitxon.concurrent.ScatterGather;
+import bitxon.concurrent.ScatterGather.Policy;
+import bitxon.metrics.FutureMetrics;
 import lombok.Builder;
 import lombok.Data;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +59,54 @@ class MultiThreadTest {
         assertThat(results).containsExactlyInAnyOrder("A", "C");
     }
 
+    @Test
+    void timeoutAndGetWhatWeHave_ScatterGather() throws InterruptedException {
+        // given
+        var executor = Executors.newCachedThreadPool();
+        List<Callable<String>> tasks = List.of(
+            () -> sleepAndGet("A", 1000),
+            () -> sleepAndGet("B", 3000),
+            () -> sleepAndGet("C", 2000)
+        );
+
+        // when
+        var result = new ScatterGather(executor).invoke(tasks, Policy.byDeadline(), Duration.ofMillis(2100));
+        executor.shutdown();
+
+        // then
+        assertThat(result.values()).containsExactly("A", "C");
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).as("straggler B is interrupted").isTrue();
+    }
+
+    @Test
+    void timeoutAndGetWhatWeHave_FutureMetrics() {
+        // given
+        var pool = Executors.newCachedThreadPool();
+        var metrics = new FutureMetrics("timeoutAndGetWhatWeHave");
+        var executor = metrics.executor(pool);
+        var features = List.of(
+            metrics.track(CompletableFuture.supplyAsync(() -> sleepAndGet("A", 1000), executor).orTimeout(2100, TimeUnit.MILLISECONDS)),
+            metrics.track(CompletableFuture.supplyAsync(() -> sleepAndGet("B", 3000), executor).orTimeout(2100, TimeUnit.MILLISECONDS)),
+            metrics.track(CompletableFuture.supplyAsync(() -> sleepAndGet("C", 2000), executor).orTimeout(2100, TimeUnit.MILLISECONDS))
+        );
+
+        // when
+        CompletableFuture.allOf(features.toArray(new CompletableFuture[0])).exceptionally(failure -> null).join();
+        pool.shutdown();
+
+        // then
+        var results = features.stream()
+            .filter(feature -> !feature.isCompletedExceptionally())
+            .map(CompletableFuture::join)
+            .toList();
+
+        assertThat(results).containsExactlyInAnyOrder("A", "C");
+        var snapshot = metrics.snapshot();
+        assertThat(snapshot.succeeded()).isEqualTo(2);
+        assertThat(snapshot.timedOut()).as("B").isEqualTo(1);
+        assertThat(snapshot.submitted()).isEqualTo(3);
+    }
+
     @Test
     void waitForOneFuture() throws ExecutionException, InterruptedException {
         // given
@@ -154,6 +210,28 @@ class MultiThreadTest {
                 .onTimeout(expectedTimeoutFlag).build());
     }
 
+    @CsvSource({
+        //wait, result , stage, timeout
+        " 500 , N/A   , 0    , true",
+        "1500 , Step 1, 1    , true",
+        "2500 , Step 2, 2    , false"
+    })
+    @ParameterizedTest
+    void experimentGetPartialResultUsingPipeline(long wait, String expectedValue, int expectedStage,
+                                                 boolean expectedTimeoutFlag) {
+
+        var pipeline = Pipeline.<String, String>first("Step 1", (value) -> sleepAndGet("Step 1", 1000))
+            .then("Step 2", (value) -> sleepAndGet("Step 2", 1000));
+
+        var result = pipeline
+            .run("N/A", ForkJoinPool.commonPool(), Duration.ofMillis(wait))
+            .join();
+
+        assertThat(result.value()).isEqualTo(expectedValue);
+        assertThat(result.stage()).isEqualTo(expectedStage);
+        assertThat(result.completed()).isEqualTo(!expectedTimeoutFlag);
+    }
+
     // ------------------------------------- Utilities -------------------------------------
 
     private static void sleep(int sleepMillis) {
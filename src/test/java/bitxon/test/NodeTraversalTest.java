@@ -0,0 +1,74 @@
+package bitxon.test;
+
+import bitxon.model.structure.tree.Node;
+import bitxon.model.structure.tree.NodeTraversal;
+import bitxon.model.structure.tree.NodeTraversal.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.NoSuchElementException;
+
+import static bitxon.test.TreeTest.TREE_ROOT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NodeTraversalTest {
+
+    static final int DEEP = 500_000;
+
+    @Test
+    @DisplayName("Deep First Search: Pre-Order")
+    void preorder() {
+        assertThat(NodeTraversal.preorder(TREE_ROOT)).containsExactly(1, 2, 4, 8, 5, 3, 6, 9, 10, 7);
+    }
+
+    @Test
+    @DisplayName("Deep First Search: In-Order")
+    void inorder() {
+        assertThat(NodeTraversal.inorder(TREE_ROOT)).containsExactly(8, 4, 2, 5, 1, 9, 6, 10, 3, 7);
+    }
+
+    @Test
+    @DisplayName("Deep First Search: Post-Order")
+    void postorder() {
+        assertThat(NodeTraversal.postorder(TREE_ROOT)).containsExactly(8, 4, 5, 2, 9, 10, 6, 7, 3, 1);
+    }
+
+    @Test
+    @DisplayName("Breadth-First Search: Level Order")
+    void levelOrder() {
+        assertThat(NodeTraversal.levelOrder(TREE_ROOT)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Order.class)
+    void degenerateTreeDoesNotOverflowStack(Order order) {
+        Node leftChain = null;
+        Node rightChain = null;
+        for (int i = DEEP; i >= 1; i--) {
+            leftChain = Node.builder().data(i).left(leftChain).build();
+            rightChain = Node.builder().data(i).right(rightChain).build();
+        }
+
+        assertThat(NodeTraversal.stream(leftChain, order).count()).isEqualTo(DEEP);
+        assertThat(NodeTraversal.stream(rightChain, order).asLongStream().sum()).isEqualTo((long) DEEP * (DEEP + 1) / 2);
+    }
+
+    @Test
+    void stopEarly() {
+        assertThat(NodeTraversal.preorder(TREE_ROOT).limit(3)).containsExactly(1, 2, 4);
+        assertThat(NodeTraversal.levelOrder(TREE_ROOT).takeWhile(value -> value < 4)).containsExactly(1, 2, 3);
+        assertThat(NodeTraversal.inorder(TREE_ROOT).anyMatch(value -> value == 8)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Order.class)
+    void emptyTree(Order order) {
+        var iterator = NodeTraversal.iterator(null, order);
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::nextInt).isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,155 @@
+package bitxon.test;
+
+import bitxon.model.structure.tree.AvlNode;
+import bitxon.model.structure.tree.NodeTraversal;
+import bitxon.model.structure.tree.PersistentAvlTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentAvlTreeTest {
+
+    @Test
+    void insertAndDelete() {
+        var tree = PersistentAvlTree.of(5, 3, 8, 1, 4, 7, 9, 2, 6);
+
+        assertThat(tree.stream()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(tree.size()).isEqualTo(9);
+        assertThat(tree.contains(4)).isTrue();
+        assertThat(tree.contains(10)).isFalse();
+        assertThat(tree.min()).isEqualTo(1);
+        assertThat(tree.max()).isEqualTo(9);
+
+        var smaller = tree.delete(5).delete(1).delete(100);
+        assertThat(smaller.stream()).containsExactly(2, 3, 4, 6, 7, 8, 9);
+        assertThat(smaller.size()).isEqualTo(7);
+    }
+
+    @Test
+    void oldVersionsAreUntouched() {
+        var version1 = PersistentAvlTree.of(1, 2, 3);
+        var version2 = version1.insert(4);
+        var version3 = version2.delete(2);
+
+        assertThat(version1.stream()).containsExactly(1, 2, 3);
+        assertThat(version2.stream()).containsExactly(1, 2, 3, 4);
+        assertThat(version3.stream()).containsExactly(1, 3, 4);
+        assertThat(version1.insert(2)).as("no change, same version").isSameAs(version1);
+        assertThat(version1.delete(7)).as("no change, same version").isSameAs(version1);
+    }
+
+    @Test
+    void pathCopyingSharesUntouchedSubtrees() {
+        var tree = PersistentAvlTree.fromSorted(IntStream.range(0, 1_023).toArray());
+        var updated = tree.insert(2_000); // goes to the rightmost leaf
+
+        assertThat(updated.root()).isNotSameAs(tree.root());
+        assertThat(updated.root().left()).isSameAs(tree.root().left());
+    }
+
+    @Test
+    void randomOperationsKeepAvlInvariant() {
+        var random = new Random(9);
+        var expected = new TreeSet<Integer>();
+        var tree = PersistentAvlTree.empty();
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                tree = tree.insert(value);
+                expected.add(value);
+            } else {
+                tree = tree.delete(value);
+                expected.remove(value);
+            }
+        }
+
+        assertThat(tree.stream().boxed().toList()).containsExactlyElementsOf(expected);
+        assertThat(tree.size()).isEqualTo(expected.size());
+        assertBalanced(tree.root(), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Test
+    void bulkBuildFromSorted() {
+        var tree = PersistentAvlTree.fromSorted(IntStream.range(0, 1_000_000).toArray());
+
+        assertThat(tree.size()).isEqualTo(1_000_000);
+        assertThat(tree.height()).isEqualTo(20);
+        assertThat(tree.contains(999_999)).isTrue();
+        assertThat(NodeTraversal.inorder(tree.toNode()).limit(3)).containsExactly(0, 1, 2);
+        assertBalanced(tree.root(), Long.MIN_VALUE, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> PersistentAvlTree.fromSorted(new int[]{1, 1}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PersistentAvlTree.empty().min()).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void snapshotReadsUnderConcurrentWriters() {
+        var current = new AtomicReference<>(PersistentAvlTree.empty());
+
+        var writers = new ArrayList<CompletableFuture<Void>>();
+        for (int writer = 0; writer < 4; writer++) {
+            int offset = writer;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = offset; i < 40_000; i += 4) {
+                    int value = i;
+                    current.updateAndGet(tree -> tree.insert(value));
+                }
+            }));
+        }
+        var reader = CompletableFuture.supplyAsync(() -> {
+            int inconsistentSnapshots = 0;
+            while (current.get().size() < 40_000) {
+                var snapshot = current.get();
+                // size and content of one version always agree, whatever writers do meanwhile
+                if (!isSortedWithSize(snapshot)) {
+                    inconsistentSnapshots++;
+                }
+            }
+            return inconsistentSnapshots;
+        });
+
+        CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).join();
+        assertThat(reader.join()).isZero();
+        assertThat(current.get().stream()).hasSize(40_000);
+        assertThat(current.get().min()).isZero();
+        assertThat(current.get().max()).isEqualTo(39_999);
+    }
+
+    /** Walks every node, {@code stream().count()} alone would return the known size without visiting any. */
+    static boolean isSortedWithSize(PersistentAvlTree tree) {
+        var iterator = tree.stream().iterator();
+        long previous = Long.MIN_VALUE;
+        int visited = 0;
+        while (iterator.hasNext()) {
+            int value = iterator.nextInt();
+            if (value <= previous) {
+                return false;
+            }
+            previous = value;
+            visited++;
+        }
+        return visited == tree.size();
+    }
+
+    static int assertBalanced(AvlNode node, long lowerExclusive, long upperExclusive) {
+        if (node == null) {
+            return 0;
+        }
+        assertThat((long) node.data()).isGreaterThan(lowerExclusive).isLessThan(upperExclusive);
+        int left = assertBalanced(node.left(), lowerExclusive, node.data());
+        int right = assertBalanced(node.right(), node.data(), upperExclusive);
+        assertThat(Math.abs(left - right)).isLessThanOrEqualTo(1);
+        assertThat(node.height()).isEqualTo(1 + Math.max(left, right));
+        return node.height();
+    }
+}
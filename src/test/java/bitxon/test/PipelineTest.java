@@ -0,0 +1,116 @@
+package bitxon.test;
+
+import bitxon.concurrent.Pipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void typedStages() {
+        var pipeline = Pipeline.<String, String[]>first("split", text -> text.split(" "))
+            .then("count", words -> words.length)
+            .then("format", count -> "words: " + count);
+
+        var result = pipeline.run(StreamStringTest.TEXT, executor, Duration.ofSeconds(1)).join();
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.stage()).isEqualTo(3);
+        assertThat(result.stageName()).isEqualTo("format");
+        assertThat(result.output()).isEqualTo("words: 26");
+        assertThat(result.latencies()).hasSize(3);
+    }
+
+    @Test
+    void timeoutYieldsLatestCheckpoint() {
+        var pipeline = Pipeline.<String, String>first("fast", value -> sleepAndGet(value + "-fast", 50))
+            .then("slow", value -> sleepAndGet(value + "-slow", 2000));
+
+        var result = pipeline.run("in", executor, Duration.ofMillis(500)).join();
+
+        assertThat(result.completed()).isFalse();
+        assertThat(result.stage()).isEqualTo(1);
+        assertThat(result.stageName()).isEqualTo("fast");
+        assertThat(result.value()).isEqualTo("in-fast");
+        assertThatThrownBy(result::output).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void timeoutBeforeFirstStageYieldsInput() {
+        var pipeline = Pipeline.<String, String>first("slow", value -> sleepAndGet(value + "-slow", 2000));
+
+        var result = pipeline.run("in", executor, Duration.ofMillis(100)).join();
+
+        assertThat(result.stage()).isZero();
+        assertThat(result.stageName()).isEqualTo(Pipeline.INPUT);
+        assertThat(result.value()).isEqualTo("in");
+        assertThat(result.latencies()).isEmpty();
+    }
+
+    @Test
+    void stagesAfterTimeoutAreSkipped() throws InterruptedException {
+        var started = new AtomicInteger();
+        var pipeline = Pipeline.<String, String>first("slow", value -> sleepAndGet(value, 300))
+            .then("skipped", value -> started.incrementAndGet());
+
+        pipeline.run("in", executor, Duration.ofMillis(100)).join();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        assertThat(started).hasValue(0);
+    }
+
+    @Test
+    void failurePropagates() {
+        var pipeline = Pipeline.<Integer, Integer>first("divide", value -> 10 / value);
+
+        assertThatThrownBy(() -> pipeline.run(0, executor, Duration.ofSeconds(1)).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ArithmeticException.class);
+        assertThat(pipeline.statistics().get(0).failed()).isEqualTo(1);
+    }
+
+    @Test
+    void statisticsShowWhichStageTimesOut() {
+        var pipeline = Pipeline.<String, String>first("fast", value -> sleepAndGet(value, 10))
+            .then("slow", value -> sleepAndGet(value, 300));
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.run("in", executor, Duration.ofMillis(150)).join();
+        }
+
+        var fast = pipeline.statistics().get(0);
+        var slow = pipeline.statistics().get(1);
+        assertThat(fast.completed()).isEqualTo(5);
+        assertThat(fast.timedOut()).isZero();
+        assertThat(slow.timedOut()).isEqualTo(5);
+        assertThat(fast.max()).isLessThan(Duration.ofMillis(150));
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static <T> T sleepAndGet(T value, int sleepMillis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return value;
+    }
+}
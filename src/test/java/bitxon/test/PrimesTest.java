@@ -0,0 +1,89 @@
+package bitxon.test;
+
+import bitxon.math.PrimeSieve;
+import bitxon.math.Primes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrimesTest {
+
+    @Test
+    void primeNumbers() {
+        var sieve = PrimeSieve.of(11);
+
+        var vals = IntStream.of(1, 9, 8, 3, 7, 2, 5, 4, 10, 6, 11)
+            .filter(sieve::isPrime).boxed().toList();
+
+        assertThat(vals).containsExactlyInAnyOrder(2, 3, 5, 7, 11);
+        assertThat(sieve.primes()).containsExactly(2, 3, 5, 7, 11);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        //limit     , count
+        "0          , 0",
+        "1          , 0",
+        "2          , 1",
+        "100        , 25",
+        "262144     , 23000",
+        "1000000    , 78498",
+        "10000000   , 664579",
+        "100000000  , 5761455"
+    })
+    void countPrimes(int limit, int expectedCount) {
+        assertThat(Primes.countPrimes(limit)).isEqualTo(expectedCount);
+    }
+
+    @Test
+    void sameAsTrialDivision() {
+        for (int limit = 0; limit < 2_000; limit++) {
+            var expected = IntStream.rangeClosed(2, limit)
+                .filter(number -> IntStream.range(2, number).noneMatch(i -> number % i == 0))
+                .toArray();
+
+            assertThat(Primes.primesUpTo(limit).toArray()).as("limit %s", limit).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void nextPrime() {
+        var sieve = PrimeSieve.of(100);
+        assertThat(sieve.nextPrime(-10)).hasValue(2);
+        assertThat(sieve.nextPrime(4)).hasValue(5);
+        assertThat(sieve.nextPrime(89)).hasValue(97);
+        assertThat(sieve.nextPrime(97)).isEmpty();
+
+        assertThat(Primes.nextPrime(1 << 20)).isEqualTo(1_048_583);
+        assertThat(Primes.nextPrime(1_000_000_000_000_000_000L)).isEqualTo(1_000_000_000_000_000_003L);
+        assertThat(Primes.nextPrime(Long.MAX_VALUE - 30)).isEqualTo(9_223_372_036_854_775_783L);
+        assertThatThrownBy(() -> Primes.nextPrime(Long.MAX_VALUE - 20)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void millerRabinForLongInputs() {
+        assertThat(Primes.isPrime(2_305_843_009_213_693_951L)).as("Mersenne prime 2^61 - 1").isTrue();
+        assertThat(Primes.isPrime(3_215_031_751L)).as("strong pseudoprime to bases 2, 3, 5, 7").isFalse();
+        assertThat(Primes.isPrime(Long.MAX_VALUE)).isFalse();
+
+        var random = new Random(31);
+        for (int i = 0; i < 10_000; i++) {
+            long number = random.nextLong() >>> (1 + random.nextInt(62));
+            assertThat(Primes.isPrime(number)).as("%s", number)
+                .isEqualTo(BigInteger.valueOf(number).isProbablePrime(100));
+        }
+    }
+
+    @Test
+    void invalidUsage() {
+        assertThatThrownBy(() -> PrimeSieve.of(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PrimeSieve.of(10).isPrime(11)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
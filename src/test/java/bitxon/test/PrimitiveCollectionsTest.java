@@ -0,0 +1,128 @@
+package bitxon.test;
+
+import bitxon.collection.IntIntMap;
+import bitxon.collection.ObjectIntMap;
+import bitxon.collection.ObjectLongMap;
+import bitxon.collection.PrimitiveCollectors;
+import bitxon.model.IntIntPair;
+import bitxon.model.ObjectLongPair;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrimitiveCollectionsTest {
+
+    @Test
+    void objectIntMap() {
+        var map = new ObjectIntMap<String>();
+
+        map.put("a", 5);
+        assertThat(map.addTo("a", 2)).isEqualTo(7);
+        assertThat(map.addTo("b", 3)).isEqualTo(3);
+        assertThat(map.merge("a", 4, Math::min)).isEqualTo(4);
+        assertThat(map.merge("c", 9, Math::min)).isEqualTo(9);
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get("a")).isEqualTo(4);
+        assertThat(map.get("missing")).isZero();
+        assertThat(map.getOrDefault("missing", -1)).isEqualTo(-1);
+        assertThat(map.containsKey("b")).isTrue();
+        assertThat(map.containsKey("missing")).isFalse();
+        assertThat(map.toMap()).isEqualTo(Map.of("a", 4, "b", 3, "c", 9));
+        assertThatThrownBy(() -> map.put(null, 1)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void intIntMapZeroAndNegativeKeys() {
+        var map = new IntIntMap();
+
+        assertThat(map.containsKey(0)).isFalse();
+        map.addTo(0, 2);
+        map.addTo(-1, 5);
+        map.put(Integer.MIN_VALUE, 1);
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(0)).isEqualTo(2);
+        assertThat(map.containsKey(0)).isTrue();
+        assertThat(map.maxEntry()).contains(new IntIntPair(-1, 5));
+        assertThat(map.toMap()).isEqualTo(Map.of(0, 2, -1, 5, Integer.MIN_VALUE, 1));
+        assertThat(new IntIntMap().maxEntry()).isEmpty();
+    }
+
+    @Test
+    void mapsMatchHashMapWhileGrowing() {
+        var random = new SplittableRandom(42);
+        var objectLongMap = new ObjectLongMap<Integer>(1);
+        var intIntMap = new IntIntMap(1);
+        var expectedLong = new HashMap<Integer, Long>();
+        var expectedInt = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(-20_000, 20_000);
+            int value = random.nextInt(-100, 100);
+            objectLongMap.addTo(key, value);
+            expectedLong.merge(key, (long) value, Long::sum);
+            intIntMap.merge(key, value, Math::max);
+            expectedInt.merge(key, value, Math::max);
+        }
+
+        assertThat(objectLongMap.toMap()).isEqualTo(expectedLong);
+        assertThat(intIntMap.toMap()).isEqualTo(expectedInt);
+        assertThat(intIntMap.size()).isEqualTo(expectedInt.size());
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    void countingInto() {
+        var random = new SplittableRandom(42);
+        var words = random.ints(200_000, 0, 5_000).mapToObj(i -> "word-" + i % (1 + i % 97)).toList();
+
+        var counts = words.parallelStream().collect(PrimitiveCollectors.countingInto(Function.identity()));
+
+        assertThat(counts.toMap())
+            .isEqualTo(words.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+    }
+
+    @Test
+    void countingIntsInto() {
+        var histogram = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(PrimitiveCollectors.countingIntsInto(Employee::getSalary));
+
+        assertThat(histogram.size()).isEqualTo(8);
+        assertThat(histogram.get(9_500)).isEqualTo(3);
+        assertThat(histogram.get(11_100)).isEqualTo(1);
+        assertThat(histogram.maxEntry().map(IntIntPair::getValue2)).contains(3); // 9500 or 7400
+    }
+
+    @Test
+    void sumIntBy() {
+        var salaries = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(PrimitiveCollectors.sumIntBy(Employee::getTitle, Employee::getSalary));
+
+        assertThat(salaries.toMap()).isEqualTo(Map.of(
+            SENIOR, 94_000L,
+            MIDDLE, 22_200L,
+            JUNIOR, 15_800L
+        ));
+        assertThat(salaries.maxEntry()).contains(new ObjectLongPair<>(SENIOR, 94_000L));
+    }
+}
@@ -0,0 +1,112 @@
+package bitxon.test;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.stream.IntStatistics;
+import bitxon.stream.QuantileSketch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    static final double[] PERCENTILES = {1, 5, 10, 25, 50, 75, 90, 95, 99, 99.9, 100};
+
+    @Test
+    void salaryPercentilesByTitle() {
+        var sketches = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(Collectors.groupingBy(Employee::getTitle, QuantileSketch.sketching(Employee::getSalary)));
+        var exact = DEPARTMENTS.stream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(Collectors.groupingBy(Employee::getTitle, IntStatistics.summarizingInt(Employee::getSalary)));
+
+        assertThat(sketches).containsOnlyKeys(exact.keySet());
+        exact.forEach((title, statistic) -> {
+            var sketch = sketches.get(title);
+            assertThat(sketch.getCount()).isEqualTo(statistic.getCount());
+            assertThat(sketch.getMin()).isEqualTo(statistic.getMin());
+            assertThat(sketch.getMax()).isEqualTo(statistic.getMax());
+            for (double percentile : PERCENTILES) {
+                int expected = statistic.getPercentile(percentile);
+                assertThat(sketch.getPercentile(percentile)).as("%s p%s", title, percentile)
+                    .isCloseTo(expected, within(expected * sketch.getRelativeAccuracy() + 1e-6));
+            }
+        });
+    }
+
+    @Test
+    void departmentSketchesMergeIntoCompanyWide() {
+        var company = DEPARTMENTS.stream()
+            .map(department -> department.getEmployees().stream()
+                .collect(QuantileSketch.sketching(Employee::getSalary)))
+            .reduce(new QuantileSketch(), QuantileSketch::merge);
+        var direct = DEPARTMENTS.stream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(QuantileSketch.sketching(Employee::getSalary));
+
+        assertThat(company.getCount()).isEqualTo(17);
+        for (double percentile : PERCENTILES) {
+            assertThat(company.getPercentile(percentile)).isEqualTo(direct.getPercentile(percentile));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.05, 0.01, 0.001})
+    void accuracyOnLargeGeneratedData(double relativeAccuracy) {
+        var random = new Random(17);
+        var salaries = IntStream.range(0, 2_000_000)
+            .map(i -> i % 1000 == 0 ? 0 : (int) Math.exp(8 + random.nextGaussian() * 1.5)) // long tail and zeros
+            .toArray();
+
+        var sketch = IntStream.of(salaries).boxed().parallel()
+            .collect(QuantileSketch.sketching(Integer::intValue, relativeAccuracy));
+
+        var sorted = salaries.clone();
+        Arrays.sort(sorted);
+        for (int permille = 1; permille <= 1000; permille++) {
+            int expected = sorted[(int) ((permille * (long) sorted.length + 999) / 1000) - 1]; // exact ceil
+            assertThat(sketch.getQuantile(permille / 1000d)).as("q%s", permille / 1000d)
+                .isCloseTo(expected, within(expected * relativeAccuracy + 1e-6));
+        }
+        assertThat(sketch.getBucketCount()).as("memory does not grow with values").isLessThan(10_000);
+    }
+
+    @Test
+    void decimalPercentileRank() {
+        var hundred = IntStream.rangeClosed(1, 100).boxed()
+            .collect(QuantileSketch.sketching(Integer::intValue));
+        // fine enough for 999 and 1000 to fall into different buckets
+        var thousand = IntStream.rangeClosed(1, 1000).boxed()
+            .collect(QuantileSketch.sketching(Integer::intValue, 0.0001));
+
+        assertThat(hundred.getPercentile(7)).isCloseTo(7, within(7 * hundred.getRelativeAccuracy()));
+        assertThat(thousand.getPercentile(99.9)).isCloseTo(999, within(999 * thousand.getRelativeAccuracy()))
+            .isLessThan(1000);
+        assertThat(thousand.getQuantile(0.999)).isLessThan(1000);
+    }
+
+    @Test
+    void invalidUsage() {
+        var sketch = new QuantileSketch(0.01);
+
+        assertThatThrownBy(() -> sketch.getQuantile(0.5)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> sketch.accept(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.merge(new QuantileSketch(0.02))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new QuantileSketch(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
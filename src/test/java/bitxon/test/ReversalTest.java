@@ -0,0 +1,75 @@
+package bitxon.test;
+
+import bitxon.text.Reversal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamStringTest.TEXT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReversalTest {
+
+    static final String REVERSED_TEXT = "rock - favorite My music. to listen like i Nikita,      is name        my Hello";
+
+    @Test
+    void reverseWordsKeepsWhitespaceRuns() {
+        assertThat(Reversal.reverseWords(TEXT)).isEqualTo(REVERSED_TEXT);
+        assertThat(Reversal.reverseWords("  one\ttwo \n")).isEqualTo("\n two\tone  ");
+        assertThat(Reversal.reverseWords("")).isEmpty();
+        assertThat(Reversal.reverseWords("   ")).isEqualTo("   ");
+        assertThat(Reversal.reverseWords("\uD83D\uDE00 a")).as("surrogate pair").isEqualTo("a \uD83D\uDE00");
+    }
+
+    @Test
+    void reverseWordsInRange() {
+        var chars = ("[" + TEXT + "]").toCharArray();
+
+        Reversal.reverseWords(chars, 1, chars.length - 1);
+
+        assertThat(new String(chars)).isEqualTo("[" + REVERSED_TEXT + "]");
+    }
+
+    @Test
+    void reverseWordsInCharBuffer() {
+        var heap = CharBuffer.wrap(("xx " + TEXT + " yy").toCharArray());
+        heap.position(3).limit(3 + TEXT.length());
+        var direct = ByteBuffer.allocateDirect(2 * TEXT.length()).asCharBuffer().put(TEXT).flip();
+
+        Reversal.reverseWords(heap.slice());
+        Reversal.reverseWords(direct);
+
+        assertThat(new String(heap.array())).isEqualTo("xx " + REVERSED_TEXT + " yy");
+        assertThat(heap.position()).isEqualTo(3);
+        assertThat(direct.toString()).isEqualTo(REVERSED_TEXT);
+    }
+
+    @Test
+    void reversedJoining() {
+        var sequential = Arrays.stream(TEXT.split(" ")).collect(Reversal.reversedJoining(" "));
+        var parallel = Arrays.stream(TEXT.split(" ")).parallel().collect(Reversal.reversedJoining(" "));
+
+        assertThat(sequential).isEqualTo(REVERSED_TEXT);
+        assertThat(parallel).isEqualTo(REVERSED_TEXT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 1_000, 1_000_000})
+    void parallelReversingMatchesSequential(int size) {
+        var words = new Random(size).ints(size, 0, 10_000).mapToObj(Integer::toString).toList();
+
+        var sequential = words.stream().collect(Reversal.reversing());
+        var parallel = words.parallelStream().collect(Reversal.reversing());
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(sequential).isEqualTo(IntStream.range(0, size).mapToObj(i -> words.get(size - 1 - i)).toList());
+        assertThat(words.parallelStream().collect(Reversal.reversedJoining(" ")))
+            .isEqualTo(String.join(" ", sequential));
+    }
+}
@@ -0,0 +1,123 @@
+package bitxon.test;
+
+import bitxon.data.DatasetGenerator;
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.model.business.EmployeeTable;
+import bitxon.model.business.SalaryRollup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.FINANCE;
+import static bitxon.test.StreamBusinessTest.HR;
+import static bitxon.test.StreamBusinessTest.INT_SUMMARY_STATISTICS_COMPARATOR;
+import static bitxon.test.StreamBusinessTest.IT;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalaryRollupTest {
+
+    @Test
+    void allLevels() {
+        var rollup = DEPARTMENTS.stream().collect(SalaryRollup.rollup());
+
+        assertThat(rollup.departments()).containsExactly(FINANCE, IT, HR);
+        assertThat(rollup.titles()).containsExactlyInAnyOrder(JUNIOR, MIDDLE, SENIOR);
+
+        // (department, title)
+        assertThat(rollup.statistic(FINANCE, SENIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(4, 8300, 10000, 37300));
+        // (title)
+        assertThat(rollup.statisticByTitle().get(JUNIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(4, 3900, 4000, 15800));
+        assertThat(rollup.statisticByTitle().get(MIDDLE))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(3, 7400, 7400, 22200));
+        assertThat(rollup.statisticByTitle().get(SENIOR))
+            .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+            .isEqualTo(new IntSummaryStatistics(10, 8300, 11100, 94000));
+        // (department)
+        assertThat(rollup.averageSalaryByDepartment()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            FINANCE, 7500d,
+            IT, 7140d,
+            HR, 9075d
+        ));
+        // ()
+        assertThat(rollup.total().getCount()).isEqualTo(17);
+        assertThat(rollup.total().getSum()).isEqualTo(132000);
+    }
+
+    @Test
+    void absentCell() {
+        var rollup = SalaryRollup.of(DEPARTMENTS);
+
+        assertThat(rollup.statistic(FINANCE, "Intern").getCount()).isZero();
+        assertThat(rollup.statistic("Marketing", SENIOR).getCount()).isZero();
+    }
+
+    @Test
+    void departmentsWithSameNameAreMerged() {
+        var departments = new ArrayList<>(DEPARTMENTS);
+        departments.add(Department.builder().name(IT).employees(List.of(
+            Employee.builder().title(JUNIOR).salary(4_300).build()
+        )).build());
+        departments.add(Department.builder().name("Empty").employees(List.of()).build());
+
+        var rollup = SalaryRollup.of(departments);
+
+        assertThat(rollup.departments()).containsExactly(FINANCE, IT, HR);
+        assertThat(rollup.statisticByDepartment().get(IT).getCount()).isEqualTo(6);
+        assertThat(rollup.averageSalaryByDepartment().get(IT)).isEqualTo(40000d / 6);
+    }
+
+    @Test
+    void nullTitle() {
+        var departments = List.of(Department.builder().name(IT).employees(List.of(
+            Employee.builder().title(null).salary(1_000).build()
+        )).build());
+
+        assertThatThrownBy(() -> SalaryRollup.of(departments))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void sameAsGroupingBy() {
+        var departments = DatasetGenerator.builder()
+            .departmentCount(50)
+            .employeeCount(100_000)
+            .build()
+            .departments();
+
+        var byDepartmentAndTitle = departments.stream()
+            .collect(Collectors.groupingBy(
+                Department::getName,
+                Collectors.flatMapping(d -> d.getEmployees().stream(),
+                    Collectors.groupingBy(Employee::getTitle, Collectors.summarizingInt(Employee::getSalary)))
+            ));
+
+        var sequential = departments.stream().collect(SalaryRollup.rollup());
+        var parallel = SalaryRollup.of(departments);
+        var fromTable = SalaryRollup.of(EmployeeTable.from(departments));
+
+        for (var rollup : List.of(sequential, parallel, fromTable)) {
+            assertThat(rollup.total().getCount()).isEqualTo(100_000);
+            assertThat(rollup.statisticByDepartmentAndTitle()).containsOnlyKeys(byDepartmentAndTitle.keySet());
+            byDepartmentAndTitle.forEach((department, byTitle) -> byTitle.forEach((title, statistic) ->
+                assertThat(rollup.statistic(department, title)).as("%s, %s", department, title)
+                    .usingComparator(INT_SUMMARY_STATISTICS_COMPARATOR)
+                    .isEqualTo(statistic)
+            ));
+        }
+    }
+}
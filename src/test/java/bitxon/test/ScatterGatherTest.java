@@ -0,0 +1,141 @@
+package bitxon.test;
+
+import bitxon.concurrent.ScatterGather;
+import bitxon.concurrent.ScatterGather.Policy;
+import bitxon.concurrent.ScatterGather.Status;
+import bitxon.concurrent.ScatterGather.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScatterGatherTest {
+
+    static final Duration DEADLINE = Duration.ofMillis(500);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScatterGather scatterGather = new ScatterGather(executor);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void all() throws Exception {
+        var result = scatterGather.invoke(tasks(100, 300, 200), Policy.all(), DEADLINE);
+
+        assertThat(result.values()).containsExactly("A", "B", "C");
+        assertThat(result.satisfied()).isTrue();
+        assertThat(result.timedOut()).isFalse();
+    }
+
+    @Test
+    void first() throws Exception {
+        var result = scatterGather.invoke(tasks(100, 3000, 2000), Policy.first(), DEADLINE);
+
+        assertThat(result.values()).containsExactly("A");
+        assertThat(result.tasks()).extracting(TaskResult::status)
+            .containsExactly(Status.SUCCEEDED, Status.CANCELLED, Status.CANCELLED);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).as("straggler interrupted").isTrue();
+    }
+
+    @Test
+    void quorum() throws Exception {
+        var result = scatterGather.invoke(tasks(100, 3000, 200), Policy.quorum(2), DEADLINE);
+
+        assertThat(result.values()).containsExactly("A", "C");
+        assertThat(result.satisfied()).isTrue();
+        assertThat(result.count(Status.CANCELLED)).isEqualTo(1);
+        assertThat(result.elapsed()).isLessThan(DEADLINE);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).as("straggler interrupted").isTrue();
+    }
+
+    @Test
+    void byDeadline() throws Exception {
+        var result = scatterGather.invoke(tasks(100, 3000, 200), Policy.byDeadline(), DEADLINE);
+
+        assertThat(result.values()).containsExactly("A", "C");
+        assertThat(result.timedOut()).isTrue();
+        assertThat(result.tasks().get(1).status()).isEqualTo(Status.TIMED_OUT);
+        assertThat(result.tasks().get(0).elapsed()).isLessThan(result.tasks().get(2).elapsed());
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).as("straggler interrupted").isTrue();
+    }
+
+    @Test
+    void allTimesOutWithPartialResult() throws Exception {
+        var result = scatterGather.invoke(tasks(100, 3000, 200), Policy.all(), DEADLINE);
+
+        assertThat(result.values()).containsExactly("A", "C");
+        assertThat(result.satisfied()).isFalse();
+        assertThat(result.timedOut()).isTrue();
+    }
+
+    @Test
+    void allFailsFast() throws Exception {
+        List<Callable<String>> tasks = List.of(
+            task("A", 3000),
+            () -> { throw new IllegalStateException("B failed"); },
+            task("C", 3000)
+        );
+
+        var result = scatterGather.invoke(tasks, Policy.all(), DEADLINE);
+
+        assertThat(result.satisfied()).isFalse();
+        assertThat(result.timedOut()).isFalse();
+        assertThat(result.tasks()).extracting(TaskResult::status)
+            .containsExactly(Status.CANCELLED, Status.FAILED, Status.CANCELLED);
+        assertThat(result.tasks().get(1).error()).hasMessage("B failed");
+    }
+
+    @Test
+    void firstSkipsFailures() throws Exception {
+        List<Callable<String>> tasks = List.of(
+            () -> { throw new IllegalStateException("A failed"); },
+            task("B", 200)
+        );
+
+        var result = scatterGather.invoke(tasks, Policy.first(), DEADLINE);
+
+        assertThat(result.values()).containsExactly("B");
+        assertThat(result.satisfied()).isTrue();
+    }
+
+    @Test
+    void invalidQuorum() {
+        assertThatThrownBy(() -> scatterGather.invoke(tasks(100), Policy.quorum(2), DEADLINE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Policy.quorum(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private List<Callable<String>> tasks(int... sleepMillis) {
+        return IntStream.range(0, sleepMillis.length)
+            .mapToObj(i -> task(String.valueOf((char) ('A' + i)), sleepMillis[i]))
+            .toList();
+    }
+
+    private Callable<String> task(String value, int sleepMillis) {
+        return () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                return value;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        };
+    }
+}
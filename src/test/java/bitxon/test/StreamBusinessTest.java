@@ -1,8 +1,11 @@
 package bitxon.test;
 
+import bitxon.collection.PrimitiveCollectors;
 import bitxon.model.business.Department;
 import bitxon.model.business.Employee;
+import bitxon.model.business.SalaryRollup;
 import bitxon.model.Pair;
+import bitxon.stream.TopK;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
@@ -112,6 +115,20 @@ public class StreamBusinessTest {
         ));
     }
 
+    @Test
+    void averageSalaryByDepartment_Rollup() {
+        var statistic = DEPARTMENTS.parallelStream()
+            .collect(SalaryRollup.rollup())
+            .averageSalaryByDepartment();
+
+        // Validate
+        assertThat(statistic).isNotNull().containsExactlyInAnyOrderEntriesOf(Map.of(
+            FINANCE, 7500d,
+            IT, 7140d,
+            HR, 9075d
+        ));
+    }
+
     @Test
     void statisticSalaryByTitle() {
         var statistic = DEPARTMENTS.stream()
@@ -157,6 +174,43 @@ public class StreamBusinessTest {
         ));
     }
 
+    @Test
+    void minSalaryByTitle_MinIntBy() {
+        var statistic = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(PrimitiveCollectors.minIntBy(Employee::getTitle, Employee::getSalary)); // no boxing per employee
+
+        // Validate
+        assertThat(statistic.toMap()).containsExactlyInAnyOrderEntriesOf(Map.of(
+            SENIOR, 8300,
+            MIDDLE, 7400,
+            JUNIOR, 3900
+        ));
+    }
+
+    @Test
+    void averageSalaryByTitle_PrimitiveMaps() {
+        var statistic = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(Collectors.teeing(
+                PrimitiveCollectors.sumIntBy(Employee::getTitle, Employee::getSalary),
+                PrimitiveCollectors.countingInto(Employee::getTitle),
+                (sums, counts) -> {
+                    var averages = new HashMap<String, Double>();
+                    sums.forEach((title, sum) -> averages.put(title, (double) sum / counts.get(title)));
+                    return averages;
+                }));
+
+        // Validate
+        assertThat(statistic).containsExactlyInAnyOrderEntriesOf(Map.of(
+            SENIOR, 9400d,
+            MIDDLE, 7400d,
+            JUNIOR, 3950d
+        ));
+    }
+
     @Test
     void minAndMaxSalaryByTitle_CustomCollector() {
         var statistic = DEPARTMENTS.stream()
@@ -270,5 +324,18 @@ public class StreamBusinessTest {
 
     }
 
+    @Test
+    void findTwoWithHighestSalary_TopKCollector() {
+        var highlyPaidEmployees = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(TopK.top(2, Comparator.comparing(Employee::getSalary))); // bounded heap instead of full sort
+
+        assertThat(highlyPaidEmployees).containsExactly(
+            Employee.builder().title(SENIOR).salary(11_100).build(),
+            Employee.builder().title(SENIOR).salary(10_000).build()
+        );
+    }
+
 
 }
@@ -1,5 +1,11 @@
 package bitxon.test;
 
+import bitxon.collection.PrimitiveCollectors;
+import bitxon.model.ObjectLongPair;
+import bitxon.stream.FrequencyEstimate;
+import bitxon.stream.SpaceSaving;
+import bitxon.text.Reversal;
+import bitxon.text.WordFrequency;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayDeque;
@@ -46,6 +52,36 @@ public class StreamStringTest {
         assertThat(wordsStat).contains("my");
     }
 
+    @Test
+    void mostFrequentWord_CountingInto() {
+        var wordsStat = Arrays.stream(TEXT.split(" "))
+            .filter(Predicate.not(String::isBlank))
+            .map(String::toLowerCase)
+            .collect(PrimitiveCollectors.countingInto(Function.identity())) // long counters, no boxing per word
+            .maxEntry()
+            .map(ObjectLongPair::getValue1);
+
+        assertThat(wordsStat).contains("my");
+    }
+
+    @Test
+    void mostFrequentWord_WordFrequency() {
+        var wordsStat = WordFrequency.of(TEXT).top(1);
+
+        assertThat(wordsStat).extracting(WordFrequency.WordCount::word).containsExactly("my");
+    }
+
+    @Test
+    void mostFrequentWord_SpaceSaving() {
+        var wordsStat = Arrays.stream(TEXT.split(" "))
+            .filter(Predicate.not(String::isBlank))
+            .map(String::toLowerCase)
+            .collect(SpaceSaving.heavyHitters(16))
+            .top(1);
+
+        assertThat(wordsStat).extracting(FrequencyEstimate::item).containsExactly("my");
+    }
+
 
     @Test
     void longestWord() {
@@ -70,4 +106,20 @@ public class StreamStringTest {
         assertThat(str).isEqualTo("rock - favorite My music. to listen like i Nikita,      is name        my Hello");
 
     }
+
+    @Test
+    void reverseString_InPlace() {
+        var str = Reversal.reverseWords(TEXT);
+
+        assertThat(str).isEqualTo("rock - favorite My music. to listen like i Nikita,      is name        my Hello");
+    }
+
+    @Test
+    void reverseString_ReversingCollector() {
+        var str = Arrays.stream(TEXT.split(" "))
+            .parallel()
+            .collect(Reversal.reversedJoining(" "));
+
+        assertThat(str).isEqualTo("rock - favorite My music. to listen like i Nikita,      is name        my Hello");
+    }
 }
@@ -0,0 +1,86 @@
+package bitxon.test;
+
+import bitxon.model.business.Department;
+import bitxon.model.business.Employee;
+import bitxon.stream.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static bitxon.test.StreamBusinessTest.DEPARTMENTS;
+import static bitxon.test.StreamBusinessTest.FINANCE;
+import static bitxon.test.StreamBusinessTest.HR;
+import static bitxon.test.StreamBusinessTest.IT;
+import static bitxon.test.StreamBusinessTest.JUNIOR;
+import static bitxon.test.StreamBusinessTest.MIDDLE;
+import static bitxon.test.StreamBusinessTest.SENIOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTest {
+
+    static final Comparator<Employee> BY_SALARY = Comparator.comparingInt(Employee::getSalary);
+
+    record Item(int id, int value) {}
+
+    @Test
+    void topThreeByTitle() {
+        var result = DEPARTMENTS.parallelStream()
+            .map(Department::getEmployees)
+            .flatMap(Collection::stream)
+            .collect(TopK.topBy(Employee::getTitle, 3, BY_SALARY));
+
+        assertThat(result).containsOnlyKeys(JUNIOR, MIDDLE, SENIOR);
+        assertThat(result.get(SENIOR)).extracting(Employee::getSalary).containsExactly(11_100, 10_000, 10_000);
+        assertThat(result.get(MIDDLE)).extracting(Employee::getSalary).containsExactly(7_400, 7_400, 7_400);
+        assertThat(result.get(JUNIOR)).extracting(Employee::getSalary).containsExactly(4_000, 4_000, 3_900);
+    }
+
+    @Test
+    void bottomTwoByDepartment() {
+        var result = DEPARTMENTS.stream()
+            .collect(Collectors.toMap(
+                Department::getName,
+                department -> department.getEmployees().stream().collect(TopK.bottom(2, BY_SALARY))));
+
+        assertThat(result.get(FINANCE)).extracting(Employee::getSalary).containsExactly(3_900, 4_000);
+        assertThat(result.get(IT)).extracting(Employee::getSalary).containsExactly(3_900, 4_000);
+        assertThat(result.get(HR)).extracting(Employee::getSalary).containsExactly(7_400, 8_900);
+    }
+
+    @Test
+    void tiesKeepEncounterOrder() {
+        var items = List.of(new Item(1, 5), new Item(2, 7), new Item(3, 5), new Item(4, 7), new Item(5, 5));
+
+        var top = items.stream().collect(TopK.top(3, Comparator.comparingInt(Item::value)));
+        var bottom = items.stream().collect(TopK.bottom(2, Comparator.comparingInt(Item::value)));
+
+        assertThat(top).extracting(Item::id).containsExactly(2, 4, 1);
+        assertThat(bottom).extracting(Item::id).containsExactly(1, 3);
+    }
+
+    @Test
+    void sameAsSortAndLimitForParallelStreams() {
+        var random = new Random(11);
+        var items = IntStream.range(0, 100_000)
+            .mapToObj(id -> new Item(id, random.nextInt(1_000)))
+            .toList();
+        var comparator = Comparator.comparingInt(Item::value);
+
+        var expected = items.stream().sorted(comparator.reversed()).limit(25).toList();
+        var actual = items.parallelStream().collect(TopK.top(25, comparator));
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void edgeCases() {
+        assertThat(IntStream.range(0, 10).boxed().collect(TopK.top(0, Comparator.<Integer>naturalOrder()))).isEmpty();
+        assertThat(IntStream.range(0, 3).boxed().collect(TopK.top(5, Comparator.<Integer>naturalOrder())))
+            .containsExactly(2, 1, 0);
+    }
+}
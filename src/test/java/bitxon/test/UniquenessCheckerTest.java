@@ -0,0 +1,81 @@
+package bitxon.test;
+
+import bitxon.data.UniquenessChecker;
+import bitxon.data.UniquenessChecker.Mode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UniquenessCheckerTest {
+
+    static final int SIZE = 1_000_000;
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void reportsExactDuplicates(Mode mode) {
+        var checker = UniquenessChecker.<String>forStrings(mode, SIZE);
+
+        source().forEach(checker::add);
+        var duplicates = checker.duplicates(source());
+
+        assertThat(checker.getCount()).isEqualTo(SIZE);
+        assertThat(duplicates).isEqualTo(Map.of(
+            "duplicate-0", 4L,
+            "duplicate-100000", 3L,
+            "duplicate-200000", 3L
+        ));
+    }
+
+    @Test
+    void bloomFilterUsesLessMemory() {
+        var hashTable = UniquenessChecker.<String>forStrings(Mode.HASH_TABLE, SIZE);
+        var bloomFilter = UniquenessChecker.<String>forStrings(Mode.BLOOM_FILTER, SIZE);
+
+        source().forEach(value -> {
+            hashTable.add(value);
+            bloomFilter.add(value);
+        });
+
+        assertThat(bloomFilter.getMemoryBytes()).isLessThan(hashTable.getMemoryBytes() / 5);
+        assertThat(hashTable.getSuspectCount()).isEqualTo(3);
+        assertThat(bloomFilter.getSuspectCount())
+            .as("false positive rate %s", UniquenessChecker.DEFAULT_FALSE_POSITIVE_RATE)
+            .isBetween(3L, 3L + (long) (2 * UniquenessChecker.DEFAULT_FALSE_POSITIVE_RATE * SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void addReportsFirstOccurrence(Mode mode) {
+        var checker = UniquenessChecker.<String>forStrings(mode, 100);
+
+        assertThat(checker.add("a")).isTrue();
+        assertThat(checker.add("b")).isTrue();
+        assertThat(checker.add("a")).isFalse();
+        assertThat(checker.duplicates(Stream.of("a", "b", "a"))).containsExactly(Map.entry("a", 2L));
+    }
+
+    @Test
+    void hashTableIsBounded() {
+        var checker = UniquenessChecker.<String>forStrings(Mode.HASH_TABLE, 100);
+
+        assertThatThrownBy(() -> IntStream.range(0, 1_000).forEach(i -> checker.add("value-" + i)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Reproducible random values plus three values that repeat every {@code 300_000} elements. */
+    private static Stream<String> source() {
+        var random = new SplittableRandom(42);
+        return IntStream.range(0, SIZE)
+            .mapToObj(i -> i % 100_000 == 0 ? "duplicate-" + i % 300_000 : "value-" + random.nextLong());
+    }
+}
@@ -0,0 +1,104 @@
+package bitxon.test;
+
+import bitxon.text.WordFrequency;
+import bitxon.text.WordFrequency.WordCount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static bitxon.test.StreamStringTest.TEXT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WordFrequencyTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void countText() {
+        var frequency = WordFrequency.of(TEXT);
+
+        assertThat(frequency.top(1)).containsExactly(new WordCount("my", 2));
+        assertThat(frequency.count("My")).isEqualTo(2);
+        assertThat(frequency.count("music.")).as("punctuation is part of the word").isEqualTo(1);
+        assertThat(frequency.count("music")).isZero();
+        assertThat(frequency.count("")).isZero();
+        assertThat(frequency.totalWords()).isEqualTo(14);
+        assertThat(frequency.distinctWords()).isEqualTo(13);
+    }
+
+    @Test
+    void topOrdersTiesByWord() {
+        var frequency = WordFrequency.of("b a c a B c d");
+
+        assertThat(frequency.top(3)).containsExactly(
+            new WordCount("a", 2),
+            new WordCount("b", 2),
+            new WordCount("c", 2)
+        );
+        assertThat(frequency.top(10)).hasSize(4);
+        assertThat(frequency.top(0)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 100})
+    void countFileMatchesGroupingBy(int threads) throws IOException {
+        var text = randomText(new Random(threads), 100_000);
+        var file = Files.writeString(directory.resolve("words.txt"), text);
+        var expected = Arrays.stream(text.split("\\s+"))
+            .filter(word -> !word.isEmpty())
+            .map(String::toLowerCase)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        var frequency = WordFrequency.of(file, threads);
+
+        assertThat(frequency.distinctWords()).isEqualTo(expected.size());
+        assertThat(frequency.totalWords()).isEqualTo(expected.values().stream().mapToLong(Long::longValue).sum());
+        expected.forEach((word, count) -> assertThat(frequency.count(word)).as(word).isEqualTo(count));
+        assertThat(frequency.top(5)).isEqualTo(WordFrequency.of(text).top(5));
+    }
+
+    @Test
+    void chunkBoundariesDoNotCutWords() throws IOException {
+        var file = Files.writeString(directory.resolve("text.txt"), TEXT);
+        var expected = WordFrequency.of(TEXT).top(100);
+
+        for (int threads = 1; threads <= TEXT.length() + 1; threads++) {
+            assertThat(WordFrequency.of(file, threads).top(100)).as("%s threads", threads).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        var file = Files.createFile(directory.resolve("empty.txt"));
+
+        var frequency = WordFrequency.of(file, 4);
+
+        assertThat(frequency.totalWords()).isZero();
+        assertThat(frequency.top(3)).isEmpty();
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static String randomText(Random random, int words) {
+        var separators = new String[] {" ", "   ", "\n", "\t", "\r\n"};
+        var text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                text.append((char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(5)));
+            }
+            text.append(separators[random.nextInt(separators.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package bitxon.text;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * Word order reversal.
+ * <p>
+ * In-place variants reverse the whole range, then every word back: {@code "Hello my  name"} becomes
+ * {@code "name  my Hello"}. Runs of whitespace ({@link Character#isWhitespace(char)}) keep their exact content,
+ * they only move. O(n) time, no allocations. Surrogate pairs inside words are reversed twice, so they stay intact.
+ * <p>
+ * Collectors keep encounter order also for parallel streams: partial results are concatenated left then right
+ * and reversed once in the finisher.
+ */
+public final class Reversal {
+
+    private Reversal() {
+    }
+
+    public static String reverseWords(String text) {
+        var chars = text.toCharArray();
+        reverseWords(chars);
+        return new String(chars);
+    }
+
+    public static void reverseWords(char[] chars) {
+        reverseWords(chars, 0, chars.length);
+    }
+
+    /**
+     * Reverses words within {@code [from, to)}.
+     */
+    public static void reverseWords(char[] chars, int from, int to) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        reverse(chars, from, to);
+        int i = from;
+        while (i < to) {
+            while (i < to && Character.isWhitespace(chars[i])) {
+                i++;
+            }
+            int start = i;
+            while (i < to && !Character.isWhitespace(chars[i])) {
+                i++;
+            }
+            reverse(chars, start, i);
+        }
+    }
+
+    /**
+     * Reverses words between position and limit, position and limit are not changed.
+     *
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     */
+    public static void reverseWords(CharBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            reverseWords(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            return;
+        }
+        int to = buffer.limit();
+        reverse(buffer, buffer.position(), to);
+        int i = buffer.position();
+        while (i < to) {
+            while (i < to && Character.isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < to && !Character.isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            reverse(buffer, start, i);
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Elements in reverse encounter order.
+     */
+    public static <T> Collector<T, ?, List<T>> reversing() {
+        return Collector.of(
+            ArrayList<T>::new,
+            List::add, // regular stream
+            (left, right) -> { left.addAll(right); return left; }, // parallel stream
+            result -> { Collections.reverse(result); return result; }
+        );
+    }
+
+    /**
+     * Joins elements in reverse encounter order, e.g. words split by {@code " "} joined back by {@code " "}.
+     */
+    public static Collector<CharSequence, ?, String> reversedJoining(CharSequence delimiter) {
+        return Collector.of(
+            ArrayList<CharSequence>::new,
+            List::add, // regular stream
+            (left, right) -> { left.addAll(right); return left; }, // parallel stream
+            elements -> {
+                var result = new StringBuilder();
+                for (int i = elements.size() - 1; i >= 0; i--) {
+                    result.append(elements.get(i));
+                    if (i > 0) {
+                        result.append(delimiter);
+                    }
+                }
+                return result.toString();
+            }
+        );
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static void reverse(char[] chars, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+        }
+    }
+
+    private static void reverse(CharBuffer buffer, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            char c = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, c);
+        }
+    }
+}
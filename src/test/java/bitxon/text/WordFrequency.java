@@ -0,0 +1,380 @@
+package bitxon.text;
+
+import bitxon.stream.TopK;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Word frequencies of large texts without a {@link String} per token.
+ * <p>
+ * A word is a maximal run of bytes other than ASCII whitespace (space, {@code \t}, {@code \n}, {@code \u000B},
+ * {@code \f}, {@code \r}), same as {@code split("\\s+")} with empty tokens dropped, so punctuation stays
+ * attached ({@code "music."}). ASCII letters are lower-cased on the fly; other bytes, including multi-byte UTF-8
+ * characters, are compared as is.
+ * <p>
+ * Files are memory-mapped ({@link FileChannel#map}) and scanned byte by byte. Counts go into an open-addressing
+ * table (linear probing) keyed by the token bytes: the hash is computed while scanning, probing compares against
+ * a byte arena, and bytes are copied only the first time a word is seen. A file is cut into chunks at whitespace
+ * boundaries, every chunk is counted by a worker thread into its own table, tables are merged at the end.
+ * <p>
+ * The result is immutable and thread safe.
+ */
+public final class WordFrequency {
+
+    /** Mapping is limited to {@link Integer#MAX_VALUE} bytes, larger files always use several chunks. */
+    static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    public record WordCount(String word, long count) {
+    }
+
+    private final Table table;
+
+    private WordFrequency(Table table) {
+        this.table = table;
+    }
+
+    public static WordFrequency of(CharSequence text) {
+        var bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        var table = new Table();
+        scan(ByteBuffer.wrap(bytes), 0, bytes.length, table);
+        return new WordFrequency(table);
+    }
+
+    /**
+     * Counts words of an UTF-8 (or any ASCII compatible) file using all available processors.
+     */
+    public static WordFrequency of(Path file) throws IOException {
+        return of(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static WordFrequency of(Path file, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, threads);
+            var tasks = new ArrayList<Callable<Table>>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                if (start < end) {
+                    tasks.add(() -> countChunk(channel, start, end));
+                }
+            }
+            if (tasks.size() <= 1) {
+                return new WordFrequency(tasks.isEmpty() ? new Table() : countChunk(channel, 0, channel.size()));
+            }
+            return new WordFrequency(countInParallel(tasks, threads));
+        }
+    }
+
+    private static Table countInParallel(List<Callable<Table>> tasks, int threads) throws IOException {
+        var executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            Table result = null;
+            for (var future : executor.invokeAll(tasks)) {
+                var table = future.get();
+                result = result == null ? table : result.merge(table);
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while counting words", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Word counting failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Table countChunk(FileChannel channel, long start, long end) throws IOException {
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        var table = new Table();
+        scan(buffer, 0, buffer.limit(), table);
+        return table;
+    }
+
+    /**
+     * Splits the file into at least {@code threads} nearly equal chunks, every boundary is moved forward
+     * to the next whitespace so no word is cut.
+     */
+    private static long[] chunkBoundaries(FileChannel channel, int threads) throws IOException {
+        long size = channel.size();
+        long chunks = Math.min(size, Math.max(threads, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE));
+        var boundaries = new long[(int) chunks + 1];
+        var window = ByteBuffer.allocate(256);
+        for (int i = 1; i < chunks; i++) {
+            long boundary = Math.max(boundaries[i - 1], size / chunks * i);
+            boundaries[i] = boundary == 0 ? 0 : nextWhitespace(channel, boundary - 1, window);
+        }
+        boundaries[boundaries.length - 1] = size;
+        return boundaries;
+    }
+
+    /** Position of the first whitespace byte at or after {@code position}, file size if there is none. */
+    private static long nextWhitespace(FileChannel channel, long position, ByteBuffer window) throws IOException {
+        while (true) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (isWhitespace(window.get(i))) {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+    }
+
+    static void scan(ByteBuffer buffer, int from, int to, Table table) {
+        int i = from;
+        while (i < to) {
+            while (i < to && isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            if (i == to) {
+                return;
+            }
+            int start = i;
+            int hash = FNV_OFFSET_BASIS;
+            while (i < to) {
+                byte b = buffer.get(i);
+                if (isWhitespace(b)) {
+                    break;
+                }
+                hash = (hash ^ (toLowerCase(b) & 0xFF)) * FNV_PRIME;
+                i++;
+            }
+            table.add(buffer, start, i, mix(hash));
+        }
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    /** Number of occurrences of the word, case-insensitive for ASCII letters. */
+    public long count(String word) {
+        var bytes = word.getBytes(StandardCharsets.UTF_8);
+        int hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < bytes.length; i++) {
+            if (isWhitespace(bytes[i])) {
+                return 0;
+            }
+            bytes[i] = toLowerCase(bytes[i]);
+            hash = (hash ^ (bytes[i] & 0xFF)) * FNV_PRIME;
+        }
+        if (bytes.length == 0) {
+            return 0;
+        }
+        int slot = table.find(bytes, 0, bytes.length, mix(hash));
+        return slot < 0 ? 0 : table.counts[slot];
+    }
+
+    public int distinctWords() {
+        return table.size;
+    }
+
+    public long totalWords() {
+        return table.total;
+    }
+
+    /**
+     * N most frequent words (lower-cased), most frequent first, ties in byte order of the words.
+     */
+    public List<WordCount> top(int n) {
+        var slots = IntStream.range(0, table.lengths.length)
+            .filter(slot -> table.lengths[slot] > 0)
+            .boxed()
+            .collect(TopK.top(n, Comparator.<Integer>comparingLong(slot -> table.counts[slot])
+                .thenComparing((slot1, slot2) -> table.compareWords(slot2, slot1))));
+        return slots.stream()
+            .map(slot -> new WordCount(table.word(slot), table.counts[slot]))
+            .toList();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{totalWords=%d, distinctWords=%d}", getClass().getSimpleName(), table.total, table.size);
+    }
+
+    //-----------------------------------------------------------------------------------------------------------------
+
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    /** Murmur3 finalizer, FNV-1a alone clusters badly in the low bits used by linear probing. */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+
+    private static byte toLowerCase(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /**
+     * Open-addressing table: parallel arrays for hash, arena offset, length and count; a zero length marks
+     * an empty slot. Words are stored lower-cased in the arena, one after another.
+     */
+    static final class Table {
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        int[] hashes = new int[INITIAL_CAPACITY];
+        int[] offsets = new int[INITIAL_CAPACITY];
+        int[] lengths = new int[INITIAL_CAPACITY];
+        long[] counts = new long[INITIAL_CAPACITY];
+        byte[] arena = new byte[INITIAL_CAPACITY * 8];
+        int arenaSize;
+        int size;
+        long total;
+
+        void add(ByteBuffer buffer, int start, int end, int hash) {
+            int length = end - start;
+            int mask = lengths.length - 1;
+            int slot = hash & mask;
+            while (lengths[slot] != 0) {
+                if (hashes[slot] == hash && lengths[slot] == length && equalsLowerCase(buffer, start, offsets[slot], length)) {
+                    counts[slot]++;
+                    total++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int offset = reserve(length);
+            for (int i = 0; i < length; i++) {
+                arena[offset + i] = toLowerCase(buffer.get(start + i));
+            }
+            insert(slot, hash, offset, length, 1);
+        }
+
+        /** Adds all counts of {@code other} into this table. */
+        Table merge(Table other) {
+            for (int slot = 0; slot < other.lengths.length; slot++) {
+                int length = other.lengths[slot];
+                if (length == 0) {
+                    continue;
+                }
+                int hash = other.hashes[slot];
+                int found = find(other.arena, other.offsets[slot], length, hash);
+                if (found >= 0) {
+                    counts[found] += other.counts[slot];
+                    total += other.counts[slot];
+                } else {
+                    int offset = reserve(length);
+                    System.arraycopy(other.arena, other.offsets[slot], arena, offset, length);
+                    insert(freeSlot(hash), hash, offset, length, other.counts[slot]);
+                }
+            }
+            return this;
+        }
+
+        /** Slot of the lower-cased word, {@code -1} if absent. */
+        int find(byte[] word, int from, int length, int hash) {
+            int mask = lengths.length - 1;
+            int slot = hash & mask;
+            while (lengths[slot] != 0) {
+                if (hashes[slot] == hash && lengths[slot] == length
+                    && Arrays.equals(arena, offsets[slot], offsets[slot] + length, word, from, from + length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        String word(int slot) {
+            return new String(arena, offsets[slot], lengths[slot], StandardCharsets.UTF_8);
+        }
+
+        int compareWords(int slot1, int slot2) {
+            return Arrays.compareUnsigned(arena, offsets[slot1], offsets[slot1] + lengths[slot1],
+                arena, offsets[slot2], offsets[slot2] + lengths[slot2]);
+        }
+
+        private boolean equalsLowerCase(ByteBuffer buffer, int start, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                if (toLowerCase(buffer.get(start + i)) != arena[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int freeSlot(int hash) {
+            int mask = lengths.length - 1;
+            int slot = hash & mask;
+            while (lengths[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private int reserve(int length) {
+            int offset = arenaSize;
+            int required = Math.addExact(offset, length);
+            if (required > arena.length) {
+                arena = Arrays.copyOf(arena, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(2L * arena.length, required)));
+            }
+            arenaSize = required;
+            return offset;
+        }
+
+        private void insert(int slot, int hash, int offset, int length, long count) {
+            hashes[slot] = hash;
+            offsets[slot] = offset;
+            lengths[slot] = length;
+            counts[slot] = count;
+            size++;
+            total += count;
+            if (2 * size > lengths.length) { // load factor 0.5
+                grow();
+            }
+        }
+
+        private void grow() {
+            var oldHashes = hashes;
+            var oldOffsets = offsets;
+            var oldLengths = lengths;
+            var oldCounts = counts;
+            int capacity = oldLengths.length * 2;
+            hashes = new int[capacity];
+            offsets = new int[capacity];
+            lengths = new int[capacity];
+            counts = new long[capacity];
+            for (int slot = 0; slot < oldLengths.length; slot++) {
+                if (oldLengths[slot] != 0) {
+                    int target = freeSlot(oldHashes[slot]);
+                    hashes[target] = oldHashes[slot];
+                    offsets[target] = oldOffsets[slot];
+                    lengths[target] = oldLengths[slot];
+                    counts[target] = oldCounts[slot];
+                }
+            }
+        }
+    }
+}